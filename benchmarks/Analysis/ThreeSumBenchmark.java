@@ -0,0 +1,66 @@
+package Analysis;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ThreeSum engines across input sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreeSumBenchmark {
+    @Param({"100", "1000", "4000"})
+    int n;
+
+    @Param({"binarySearch", "twoPointer", "hash", "parallel"})
+    String engine;
+
+    private int[] input;
+    private ThreeSumEngine threeSum;
+
+    @Setup
+    public void setup() {
+        // Values drawn from [-n, n] so that there are plenty of zero-sum triples
+        SplittableRandom random = new SplittableRandom(42);
+        input = new int[n];
+        for (int i = 0; i < n; i++) {
+            input[i] = random.nextInt(-n, n + 1);
+        }
+
+        switch (engine) {
+            case "binarySearch":
+                threeSum = new BinarySearchThreeSum();
+                break;
+            case "twoPointer":
+                threeSum = new TwoPointerThreeSum();
+                break;
+            case "hash":
+                threeSum = new HashThreeSum();
+                break;
+            case "parallel":
+                threeSum = new ParallelThreeSum(Runtime.getRuntime().availableProcessors());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    @Benchmark
+    public List<List<Integer>> threeSum() {
+        return ThreeSum.threeSum(input, threeSum);
+    }
+}
@@ -0,0 +1,59 @@
+package Benchmarks;
+
+import java.util.Collection;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the JMH benchmarks with JSON results and allocation profiling on by default.
+// Accepts the usual JMH command line, e.g. "Percolation -p n=1000 -rff out.json".
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(defaults(commandLine, DEFAULT_RESULT).build()).run();
+    }
+
+    // Runs the benchmark class once per thread count 1, 2, 4, ... up to maxThreads, with
+    // the same defaults as main and one result file per count, then prints the scores
+    // side by side; args are further JMH options
+    public static void runThreadSweep(Class<?> benchmark, int maxThreads, String[] args)
+            throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        StringBuilder summary = new StringBuilder(String.format("%n%-64s %7s %14s%n", "Benchmark", "Threads", "Score"));
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            String result = DEFAULT_RESULT.replace(".json", "-" + threads + "t.json");
+            ChainedOptionsBuilder options = defaults(commandLine, result)
+                    .include(benchmark.getName())
+                    .threads(threads);
+            Collection<RunResult> results = new Runner(options.build()).run();
+            for (RunResult run : results) {
+                summary.append(String.format("%-64s %7d %14.3f %s%n", run.getParams().getBenchmark(), threads,
+                        run.getPrimaryResult().getScore(), run.getPrimaryResult().getScoreUnit()));
+            }
+        }
+        System.out.print(summary);
+    }
+
+    // The command-line options plus allocation profiling and JSON results written to
+    // result, unless the command line says otherwise
+    private static ChainedOptionsBuilder defaults(CommandLineOptions commandLine, String result) {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(result);
+        }
+        return options;
+    }
+}
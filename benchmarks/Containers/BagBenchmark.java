@@ -0,0 +1,88 @@
+package Containers;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Bag and IntBag filling and iteration, per whole pass over size items
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BagBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private Integer[] items;
+    private Bag<Integer> filled;
+    private IntBag filledInts;
+    private LinkedList<Integer> linked;  // node-per-item baseline for iteration
+
+    @Setup
+    public void setup() {
+        items = new Integer[size];
+        filled = new Bag<>();
+        filledInts = new IntBag();
+        linked = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            filled.add(items[i]);
+            filledInts.add(i);
+            linked.add(items[i]);
+        }
+    }
+
+    @Benchmark
+    public Bag<Integer> add() {
+        Bag<Integer> bag = new Bag<>();
+        for (Integer item : items) {
+            bag.add(item);
+        }
+        return bag;
+    }
+
+    @Benchmark
+    public IntBag intAdd() {
+        IntBag bag = new IntBag();
+        for (int i = 0; i < size; i++) {
+            bag.add(i);
+        }
+        return bag;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer item : filled) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public int intIterate() {
+        int sum = 0;
+        for (int i = 0; i < filledInts.size(); i++) {
+            sum += filledInts.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void iterateLinkedBaseline(Blackhole blackhole) {
+        for (Integer item : linked) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Containers;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Shared-deque throughput: ConcurrentDeque against a Deque guarded by synchronized.
+// Every thread adds one item and removes one, so the deque stays small. Re-run with
+// -t 1,2,4,...,32 to see how each scales with the thread count.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConcurrentDequeBenchmark {
+    private static final Integer ITEM = 42;
+
+    private final ConcurrentDeque<Integer> concurrent = new ConcurrentDeque<>();
+    private final Deque<Integer> locked = new Deque<>();
+
+    // add at the back, take from the front
+    @Benchmark
+    public Integer concurrentQueue() {
+        concurrent.addLast(ITEM);
+        return concurrent.pollFirst();
+    }
+
+    @Benchmark
+    public Integer synchronizedQueue() {
+        synchronized (locked) {
+            locked.addLast(ITEM);
+        }
+        synchronized (locked) {
+            return locked.isEmpty() ? null : locked.removeFirst();
+        }
+    }
+
+    // add at the front, take from the back
+    @Benchmark
+    public Integer concurrentReversed() {
+        concurrent.addFirst(ITEM);
+        return concurrent.pollLast();
+    }
+
+    @Benchmark
+    public Integer synchronizedReversed() {
+        synchronized (locked) {
+            locked.addFirst(ITEM);
+        }
+        synchronized (locked) {
+            return locked.isEmpty() ? null : locked.removeLast();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Containers;
+
+import Benchmarks.BenchmarkRunner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Shared task-pool throughput: ConcurrentRandomizedQueue against a RandomizedQueue
+// guarded by synchronized. A plain run uses 8 threads; main sweeps 1, 2, 4, ..., 32
+// threads to compare scaling:
+//   java -cp target/benchmarks.jar:<algs4.jar> Containers.ConcurrentRandomizedQueueBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConcurrentRandomizedQueueBenchmark {
+    private static final int PRELOAD = 1024;
+    private static final Integer ITEM = 42;
+
+    private final ConcurrentRandomizedQueue<Integer> striped = new ConcurrentRandomizedQueue<>();
+    private final RandomizedQueue<Integer> locked = new RandomizedQueue<>();
+
+    @Setup
+    public void setup() {
+        // A standing population so that dequeues pick among many items
+        for (int i = 0; i < PRELOAD; i++) {
+            striped.enqueue(i);
+            locked.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public Integer striped() {
+        striped.enqueue(ITEM);
+        return striped.poll();
+    }
+
+    @Benchmark
+    public Integer synchronizedQueue() {
+        synchronized (locked) {
+            locked.enqueue(ITEM);
+        }
+        synchronized (locked) {
+            return locked.dequeue();
+        }
+    }
+
+    // thread sweep; args are further JMH options
+    public static void main(String[] args) throws Exception {
+        BenchmarkRunner.runThreadSweep(ConcurrentRandomizedQueueBenchmark.class, 32, args);
+    }
+}
@@ -0,0 +1,100 @@
+package Containers;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Deque add/remove at both ends and iteration, per whole pass over size items
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private Integer[] items;
+    private Deque<Integer> filled;
+    private LinkedList<Integer> linked;  // node-per-item baseline for iteration
+
+    @Setup
+    public void setup() {
+        items = new Integer[size];
+        filled = new Deque<>();
+        linked = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            filled.addLast(items[i]);
+            linked.addLast(items[i]);
+        }
+    }
+
+    // fill at the back and drain from the front (queue use)
+    @Benchmark
+    public int addLastRemoveFirst() {
+        Deque<Integer> deque = new Deque<>();
+        for (Integer item : items) {
+            deque.addLast(item);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    // queue use without boxing
+    @Benchmark
+    public int intAddLastRemoveFirst() {
+        IntDeque deque = new IntDeque();
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    // fill and drain at the front (stack use)
+    @Benchmark
+    public int addFirstRemoveFirst() {
+        Deque<Integer> deque = new Deque<>();
+        for (Integer item : items) {
+            deque.addFirst(item);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer item : filled) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void iterateLinkedBaseline(Blackhole blackhole) {
+        for (Integer item : linked) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package Containers;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// RandomizedQueue enqueue/dequeue and iteration, per whole pass over size items
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomizedQueueBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private Integer[] items;
+    private RandomizedQueue<Integer> filled;
+
+    @Setup
+    public void setup() {
+        items = new Integer[size];
+        filled = new RandomizedQueue<>();
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            filled.enqueue(items[i]);
+        }
+    }
+
+    @Benchmark
+    public int enqueueDequeue() {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+        for (Integer item : items) {
+            queue.enqueue(item);
+        }
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    // bulk load into a pre-sized queue and drain in one batch
+    @Benchmark
+    public int enqueueAllDequeueBatch() {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>(size);
+        queue.enqueueAll(items);
+        int sum = 0;
+        for (Integer item : queue.dequeue(size)) {
+            sum += item;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int intEnqueueDequeue() {
+        IntRandomizedQueue queue = new IntRandomizedQueue();
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(i);
+        }
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer item : filled) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package HelloWorld;
+
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// UnionFind strategies against algs4 WeightedQuickUnionUF on the same stream of
+// random union and connected operations (10^8 by default). The operations are
+// generated on the fly from a fixed seed, so every implementation sees the same
+// workload without holding it in memory.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UnionFindBenchmark {
+    @Param({"1000000"})
+    int sites;
+
+    @Param({"100000000"})
+    long operations;
+
+    // fraction of operations that are unions; the rest are connected queries
+    @Param({"0.5"})
+    double unionFraction;
+
+    @Param({"algs4", "SIZE_FULL", "SIZE_HALVING", "RANK_FULL", "RANK_HALVING"})
+    String impl;
+
+    @Benchmark
+    public int run() {
+        SplittableRandom random = new SplittableRandom(42);
+        if (impl.equals("algs4")) {
+            return runAlgs4(random);
+        }
+        String[] strategy = impl.split("_");
+        UnionFind uf = new UnionFind(sites,
+                UnionFind.Linking.valueOf(strategy[0]), UnionFind.Compression.valueOf(strategy[1]));
+        return runUnionFind(uf, random);
+    }
+
+    private int runUnionFind(UnionFind uf, SplittableRandom random) {
+        int hits = 0;
+        for (long i = 0; i < operations; i++) {
+            int p = random.nextInt(sites);
+            int q = random.nextInt(sites);
+            if (random.nextDouble() < unionFraction) {
+                uf.union(p, q);
+            } else if (uf.connected(p, q)) {
+                hits++;
+            }
+        }
+        return hits + uf.count();
+    }
+
+    private int runAlgs4(SplittableRandom random) {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(sites);
+        int hits = 0;
+        for (long i = 0; i < operations; i++) {
+            int p = random.nextInt(sites);
+            int q = random.nextInt(sites);
+            if (random.nextDouble() < unionFraction) {
+                uf.union(p, q);
+            } else if (uf.find(p) == uf.find(q)) {
+                hits++;
+            }
+        }
+        return hits + uf.count();
+    }
+}
@@ -0,0 +1,70 @@
+package Percolation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// PercolationStats throughput on each lattice, reported in trials per second; compare
+// square SITE with PercolationStatsBenchmark at n = 256 and BLOCKED_ONLY
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LatticePercolationBenchmark {
+    private static final int TRIALS = 64;
+
+    // about 65 thousand sites each
+    @Param({"square", "periodicSquare", "triangular", "hexagonal", "cubic"})
+    String lattice;
+
+    @Param({"SITE", "BOND"})
+    LatticePercolation.Kind kind;
+
+    @Param({"1"})
+    int threads;
+
+    private Lattice grid;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        switch (lattice) {
+            case "square":
+                grid = Lattice.square(256);
+                break;
+            case "periodicSquare":
+                grid = Lattice.square(256, true);
+                break;
+            case "triangular":
+                grid = Lattice.triangular(256);
+                break;
+            case "hexagonal":
+                grid = Lattice.hexagonal(256);
+                break;
+            case "cubic":
+                grid = Lattice.cubic(40);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown lattice: " + lattice);
+        }
+        grid.bondCount();  // build the bond list outside the measurement
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIALS)
+    public double trials() {
+        return new PercolationStats(grid, kind, TRIALS, seed++, threads).mean();
+    }
+}
@@ -0,0 +1,106 @@
+package Percolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of Percolation.open/percolates/isFull/fullSites across grid sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercolationBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"100", "1000", "4000"})
+    int n;
+
+    private int[] openRows;     // every site once, in random order
+    private int[] openCols;
+    private int[] queryRows;    // random sites to query
+    private int[] queryCols;
+    private Percolation sweep;  // reset and refilled by openUntilPercolates
+    private Percolation halfOpen;
+    private long[] bitmap;
+    private int query;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        int sites = n * n;
+        int[] order = new int[sites];
+        for (int i = 0; i < sites; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        openRows = new int[sites];
+        openCols = new int[sites];
+        for (int i = 0; i < sites; i++) {
+            openRows[i] = order[i] / n + 1;
+            openCols[i] = order[i] % n + 1;
+        }
+
+        queryRows = new int[QUERIES];
+        queryCols = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryRows[i] = random.nextInt(1, n + 1);
+            queryCols[i] = random.nextInt(1, n + 1);
+        }
+
+        sweep = new Percolation(n);
+        // Open just under the threshold so queries see many clusters
+        halfOpen = new Percolation(n);
+        for (int i = 0; i < sites * 55 / 100; i++) {
+            halfOpen.open(openRows[i], openCols[i]);
+        }
+        bitmap = new long[(sites + 63) / 64];
+    }
+
+    // open sites in a fixed random order until the grid percolates
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public int openUntilPercolates() {
+        sweep.reset();
+        int i = 0;
+        while (!sweep.percolates()) {
+            sweep.open(openRows[i], openCols[i]);
+            i++;
+        }
+        return sweep.numberOfOpenSites();
+    }
+
+    @Benchmark
+    public boolean percolates() {
+        return halfOpen.percolates();
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        int q = query++ & (QUERIES - 1);
+        return halfOpen.isFull(queryRows[q], queryCols[q]);
+    }
+
+    // every site's fullness at once, as a renderer would ask for it each frame
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long[] fullSites() {
+        halfOpen.fullSites(bitmap);
+        return bitmap;
+    }
+}
@@ -0,0 +1,42 @@
+package Percolation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// PercolationStats throughput, reported in trials per second
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PercolationStatsBenchmark {
+    private static final int TRIALS = 64;
+
+    @Param({"64", "256"})
+    int n;
+
+    @Param({"1", "4"})
+    int threads;
+
+    @Param({"REJECTION", "BLOCKED_ONLY"})
+    PercolationStats.Sampling sampling;
+
+    private long seed;
+
+    @Benchmark
+    @OperationsPerInvocation(TRIALS)
+    public double trials() {
+        return new PercolationStats(n, TRIALS, seed++, threads, sampling).mean();
+    }
+}
@@ -0,0 +1,42 @@
+package Analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// O(n^2 log n): binary search for the third value after every distinct pair
+public class BinarySearchThreeSum implements ThreeSumEngine {
+
+    @Override
+    public List<List<Integer>> threeSum(int[] nums) {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+
+        List<List<Integer>> result = new ArrayList<>();
+        int n = sorted.length;
+        for (int i = 0; i < n - 2; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+            for (int j = i + 1; j < n - 1; j++) {
+                if (j > i + 1 && sorted[j] == sorted[j - 1]) {
+                    continue;
+                }
+
+                // The third value must sit after j, so it can be no smaller than sorted[j]
+                long target = -((long) sorted[i] + sorted[j]);
+                if (target < sorted[j]) {
+                    break;
+                }
+                if (target > Integer.MAX_VALUE) {
+                    continue;
+                }
+
+                if (ThreeSum.binarySearch(sorted, (int) target, j + 1, n - 1) != -1) {
+                    result.add(Arrays.asList(sorted[i], sorted[j], (int) target));
+                }
+            }
+        }
+        return result;
+    }
+}
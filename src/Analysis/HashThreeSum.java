@@ -0,0 +1,85 @@
+package Analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// O(n^2) expected: look the third value up in a hash table of last positions
+public class HashThreeSum implements ThreeSumEngine {
+
+    @Override
+    public List<List<Integer>> threeSum(int[] nums) {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+
+        // The triple (sorted[i], sorted[j], c) needs a copy of c after position j,
+        // which is the case exactly when the last position of c is greater than j
+        int n = sorted.length;
+        LastPositions last = new LastPositions(n);
+        for (int k = 0; k < n; k++) {
+            last.put(sorted[k], k);
+        }
+
+        List<List<Integer>> result = new ArrayList<>();
+        for (int i = 0; i < n - 2 && sorted[i] <= 0; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+            for (int j = i + 1; j < n - 1; j++) {
+                if (j > i + 1 && sorted[j] == sorted[j - 1]) {
+                    continue;
+                }
+
+                long target = -((long) sorted[i] + sorted[j]);
+                if (target < sorted[j]) {
+                    break;
+                }
+                if (target > Integer.MAX_VALUE) {
+                    continue;
+                }
+
+                if (last.get((int) target) > j) {
+                    result.add(Arrays.asList(sorted[i], sorted[j], (int) target));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Open-addressing map from value to its last position, without boxing
+    private static final class LastPositions {
+        private final int[] keys;
+        private final int[] positions;  // -1 marks an empty slot
+        private final int mask;
+        private final int shift;
+
+        LastPositions(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+            mask = capacity - 1;
+            shift = Integer.numberOfLeadingZeros(mask);
+        }
+
+        void put(int key, int position) {
+            int slot = slot(key);
+            keys[slot] = key;
+            positions[slot] = position;
+        }
+
+        // last position of key, or -1 if it does not occur
+        int get(int key) {
+            return positions[slot(key)];
+        }
+
+        // slot holding key, or the empty slot where it would go
+        private int slot(int key) {
+            int slot = (key * 0x9E3779B9) >>> shift;
+            while (positions[slot] != -1 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
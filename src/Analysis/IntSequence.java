@@ -0,0 +1,8 @@
+package Analysis;
+
+// Read-only random access to a sequence of ints that may not fit in an int[]
+interface IntSequence {
+    long length();
+
+    int get(long index);
+}
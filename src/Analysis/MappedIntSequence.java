@@ -0,0 +1,49 @@
+package Analysis;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Little-endian ints of a file, memory-mapped so they never live on the heap.
+// A single mapping is limited to 2 GiB, so the file is mapped in 1 GiB segments.
+final class MappedIntSequence implements IntSequence {
+    private static final int SEGMENT_SHIFT = 28;  // 2^28 ints per segment
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final IntBuffer[] segments;
+    private final long length;
+
+    MappedIntSequence(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("File size is not a multiple of " + Integer.BYTES + " bytes");
+            }
+            length = bytes / Integer.BYTES;
+
+            int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            segments = new IntBuffer[count];
+            for (int s = 0; s < count; s++) {
+                long first = (long) s << SEGMENT_SHIFT;
+                long ints = Math.min(SEGMENT_MASK + 1, length - first);
+                MappedByteBuffer mapped = channel.map(
+                        FileChannel.MapMode.READ_ONLY, first * Integer.BYTES, ints * Integer.BYTES);
+                segments[s] = mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+        }
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int get(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+}
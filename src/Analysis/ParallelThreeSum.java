@@ -0,0 +1,168 @@
+package Analysis;
+
+import edu.princeton.cs.algs4.StdOut;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+// Two-pointer 3-sum with the outer index range split across a fork-join pool.
+// Triples go straight to a TripleSink, which is called concurrently from the
+// worker threads in no particular order and therefore has to be thread-safe.
+public class ParallelThreeSum implements ThreeSumEngine {
+    // Outer indices handled by one task before it stops splitting
+    private static final int GRAIN = 64;
+
+    private final int threads;
+
+    public ParallelThreeSum(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.threads = threads;
+    }
+
+    // report every distinct zero-sum triple of nums to sink; nums is left untouched
+    public void threeSum(int[] nums, TripleSink sink) {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+        run(new ArrayIntSequence(sorted), sink);
+    }
+
+    // report every distinct zero-sum triple of a file of little-endian ints, which must
+    // already be sorted in ascending order; the file is memory-mapped, not loaded
+    public void threeSum(Path sortedInts, TripleSink sink) throws IOException {
+        IntSequence nums = new MappedIntSequence(sortedInts);
+        for (long k = 1; k < nums.length(); k++) {
+            if (nums.get(k - 1) > nums.get(k)) {
+                throw new IllegalArgumentException("Input must be sorted in ascending order");
+            }
+        }
+        run(nums, sink);
+    }
+
+    @Override
+    public List<List<Integer>> threeSum(int[] nums) {
+        List<List<Integer>> result = Collections.synchronizedList(new ArrayList<>());
+        threeSum(nums, (a, b, c) -> result.add(Arrays.asList(a, b, c)));
+
+        // Restore the ThreeSumEngine order; a triple is determined by its first two values
+        result.sort((x, y) -> {
+            int cmp = Integer.compare(x.get(0), y.get(0));
+            return cmp != 0 ? cmp : Integer.compare(x.get(1), y.get(1));
+        });
+        return result;
+    }
+
+    private void run(IntSequence nums, TripleSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (nums.length() < 3) {
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new OuterRange(nums, sink, 0, nums.length() - 2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Two-pointer scans for the first values at sorted positions [from, to)
+    // Never serialized; ForkJoinTask is only Serializable by inheritance
+    @SuppressWarnings("serial")
+    private static final class OuterRange extends RecursiveAction {
+        private final IntSequence nums;
+        private final TripleSink sink;
+        private final long from;
+        private final long to;
+
+        OuterRange(IntSequence nums, TripleSink sink, long from, long to) {
+            this.nums = nums;
+            this.sink = sink;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                long mid = (from + to) >>> 1;
+                invokeAll(new OuterRange(nums, sink, from, mid), new OuterRange(nums, sink, mid, to));
+                return;
+            }
+
+            long n = nums.length();
+            for (long i = from; i < to; i++) {
+                int a = nums.get(i);
+                if (a > 0) {
+                    return;
+                }
+                if (i > 0 && a == nums.get(i - 1)) {
+                    continue;
+                }
+
+                long lo = i + 1;
+                long hi = n - 1;
+                while (lo < hi) {
+                    int b = nums.get(lo);
+                    int c = nums.get(hi);
+                    long sum = (long) a + b + c;
+                    if (sum < 0) {
+                        lo++;
+                    } else if (sum > 0) {
+                        hi--;
+                    } else {
+                        sink.accept(a, b, c);
+                        // Skip over equal values so each triple is reported once
+                        do {
+                            lo++;
+                        } while (lo < hi && nums.get(lo) == b);
+                        do {
+                            hi--;
+                        } while (lo < hi && nums.get(hi) == c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class ArrayIntSequence implements IntSequence {
+        private final int[] values;
+
+        ArrayIntSequence(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public long length() {
+            return values.length;
+        }
+
+        @Override
+        public int get(long index) {
+            return values[(int) index];
+        }
+    }
+
+    // count the zero-sum triples of a sorted file of little-endian ints
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException("Usage: java Analysis.ParallelThreeSum <sorted int file> [threads]");
+        }
+        int threads = args.length == 2
+                ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        LongAdder triples = new LongAdder();
+        new ParallelThreeSum(threads).threeSum(Paths.get(args[0]), (a, b, c) -> triples.increment());
+        StdOut.println(triples.sum());
+    }
+}
@@ -0,0 +1,12 @@
+package Analysis;
+
+import java.util.List;
+
+// Strategy for finding the triples of a 3-sum instance
+public interface ThreeSumEngine {
+
+    // Returns every distinct triple [a, b, c] of values at three different positions
+    // of nums with a <= b <= c and a + b + c == 0, each exactly once and in ascending
+    // lexicographic order. nums is left untouched.
+    List<List<Integer>> threeSum(int[] nums);
+}
@@ -0,0 +1,7 @@
+package Analysis;
+
+// Receives 3-sum triples a <= b <= c one at a time, without boxing
+@FunctionalInterface
+public interface TripleSink {
+    void accept(int a, int b, int c);
+}
@@ -0,0 +1,44 @@
+package Analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// O(n^2): sort, then close in on each first value with two pointers
+public class TwoPointerThreeSum implements ThreeSumEngine {
+
+    @Override
+    public List<List<Integer>> threeSum(int[] nums) {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+
+        List<List<Integer>> result = new ArrayList<>();
+        int n = sorted.length;
+        for (int i = 0; i < n - 2 && sorted[i] <= 0; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+
+            int lo = i + 1;
+            int hi = n - 1;
+            while (lo < hi) {
+                long sum = (long) sorted[i] + sorted[lo] + sorted[hi];
+                if (sum < 0) {
+                    lo++;
+                } else if (sum > 0) {
+                    hi--;
+                } else {
+                    result.add(Arrays.asList(sorted[i], sorted[lo], sorted[hi]));
+                    // Skip over equal values so each triple is reported once
+                    do {
+                        lo++;
+                    } while (lo < hi && sorted[lo] == sorted[lo - 1]);
+                    do {
+                        hi--;
+                    } while (lo < hi && sorted[hi] == sorted[hi + 1]);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package Concurrency;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Runs a list of independent tasks and waits for all of them, for the parallel
+// drivers in HelloWorld and Percolation. Failures come back as they were thrown by
+// the task: unchecked exceptions and errors are rethrown unchanged, anything else is
+// wrapped. A single task always runs on the calling thread.
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    // run the tasks on a pool made for this call, one thread per task; for callers
+    // that only fan out once per run
+    public static void invokeAll(List<Callable<Void>> tasks) {
+        validate(tasks);
+        if (tasks.size() <= 1) {
+            invokeAll(null, tasks);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(tasks.size());
+        try {
+            invokeAll(pool, tasks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // run the tasks on the caller's pool, which is left running so that it can be
+    // reused by later calls; the pool may be null when there is at most one task
+    public static void invokeAll(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        validate(tasks);
+        if (tasks.isEmpty()) return;
+        if (tasks.size() == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Task failed", e);
+            }
+            return;
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null for more than one task");
+        }
+
+        try {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running tasks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Task failed", cause);
+        }
+    }
+
+    private static void validate(List<Callable<Void>> tasks) {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+    }
+}
@@ -1,16 +1,141 @@
 package Containers;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Scanner;
+import java.util.NoSuchElementException;
 
-public class Bag<Item extends Scanner> implements Iterable<Item> {
-    List<Item> items;
+// Collection that only supports adding items and iterating over them, in insertion
+// order. Items live in a list of chunks whose lengths double, so add never copies
+// what is already stored and iteration walks plain arrays instead of node links.
+// Nothing is allocated until the first add, which keeps empty adjacency lists cheap.
+public class Bag<Item> implements Iterable<Item> {
+    private static final int FIRST_CHUNK = 4;  // length of chunk 0; chunk k holds FIRST_CHUNK << k
 
+    private Object[][] chunks;  // chunks[0 .. chunkCount - 1] are allocated
+    private int chunkCount;
+    private int used;           // items in the last allocated chunk
+    private int size;
+
+    // construct an empty bag
+    public Bag() {
+    }
+
+    // is the bag empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items in the bag
+    public int size() {
+        return size;
+    }
+
+    // add the item
+    public void add(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot add null item");
+        }
+        if (chunkCount == 0 || used == chunks[chunkCount - 1].length) {
+            addChunk();
+        }
+        chunks[chunkCount - 1][used++] = item;
+        size++;
+    }
+
+    // add every item, in iteration order
+    public void addAll(Iterable<? extends Item> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        for (Item item : items) {
+            add(item);
+        }
+    }
+
+    // start a chunk twice as long as the last one
+    private void addChunk() {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Bag is full");
+        }
+        if (chunks == null) {
+            chunks = new Object[1][];
+        } else if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+        }
+        // The chunk lengths sum to FIRST_CHUNK * (2^k - 1), so later chunks are capped
+        // at what is left below Integer.MAX_VALUE
+        long length = Math.min((long) FIRST_CHUNK << chunkCount, (long) Integer.MAX_VALUE - size);
+        chunks[chunkCount++] = new Object[(int) length];
+        used = 0;
+    }
+
+    private class BagIterator implements Iterator<Item> {
+        private final int expectedSize = size;  // a bag only changes by growing
+        private int chunk;
+        private int index;
+        private int returned;
+
+        @Override
+        public boolean hasNext() {
+            return returned < expectedSize;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")  // chunks only hold Items
+        public Item next() {
+            if (size != expectedSize) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException("No more items to return");
+            if (index == chunks[chunk].length) {
+                chunk++;
+                index = 0;
+            }
+            returned++;
+            return (Item) chunks[chunk][index++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+    }
+
+    // iterator over the items in insertion order
     @Override
     public Iterator<Item> iterator() {
-        return items.iterator();
+        return new BagIterator();
     }
 
+    // Unit testing
+    public static void main(String[] args) {
+        Bag<String> bag = new Bag<>();
+        System.out.println("isEmpty(): " + bag.isEmpty());
+        bag.add("to");
+        bag.addAll(List.of("be", "or", "not", "to", "be"));
+        System.out.println("size(): " + bag.size());
+        for (String item : bag) System.out.println(item);
+
+        // Many chunks: items must come back in insertion order
+        Bag<Integer> numbers = new Bag<>();
+        for (int i = 0; i < 100_000; i++) numbers.add(i);
+        int expected = 0;
+        boolean ordered = true;
+        for (int item : numbers) ordered &= item == expected++;
+        System.out.println("100000 items in order: " + (ordered && expected == 100_000));
+
+        try {
+            for (String item : bag) bag.add(item);
+            System.out.println("ERROR: iterator should have failed fast");
+        } catch (ConcurrentModificationException e) {
+            System.out.println("Successfully caught ConcurrentModificationException");
+        }
+
+        try {
+            bag.add(null);
+            System.out.println("ERROR: add(null) should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Successfully caught exception for add(null)");
+        }
+    }
 }
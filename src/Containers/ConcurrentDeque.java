@@ -0,0 +1,130 @@
+package Containers;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe, lock-free counterpart of Deque for many producers and consumers.
+// Items are kept in a ConcurrentLinkedDeque, whose CAS-linked nodes let threads
+// work on both ends at once without a shared lock. Iterators are weakly
+// consistent: they never throw ConcurrentModificationException and see some
+// of the changes made after they were created.
+public class ConcurrentDeque<Item> implements Iterable<Item> {
+    private final ConcurrentLinkedDeque<Item> items = new ConcurrentLinkedDeque<>();
+    // Striped counter so that size() does not become a contention point itself; it is
+    // updated just after an item goes in or comes out, so it can briefly lag the items
+    private final LongAdder size = new LongAdder();
+
+    // is the deque empty? Answered from the same counter as size(), so the two always
+    // agree; like size() it is only approximate while other threads are changing it
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // return the number of items on the deque; exact only while no other thread
+    // is changing it
+    public int size() {
+        long count = size.sum();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count));
+    }
+
+    // add the item to the front
+    public void addFirst(Item item) {
+        if (item == null) throw new IllegalArgumentException("Item cannot be null");
+        items.addFirst(item);
+        size.increment();
+    }
+
+    // add the item to the back
+    public void addLast(Item item) {
+        if (item == null) throw new IllegalArgumentException("Item cannot be null");
+        items.addLast(item);
+        size.increment();
+    }
+
+    // remove and return the item from the front
+    public Item removeFirst() {
+        Item item = pollFirst();
+        if (item == null) throw new NoSuchElementException("Deque is empty");
+        return item;
+    }
+
+    // remove and return the item from the back
+    public Item removeLast() {
+        Item item = pollLast();
+        if (item == null) throw new NoSuchElementException("Deque is empty");
+        return item;
+    }
+
+    // remove and return the item from the front, or null if the deque is empty;
+    // cheaper than removeFirst() for consumers that expect to find it empty
+    public Item pollFirst() {
+        Item item = items.pollFirst();
+        if (item != null) size.decrement();
+        return item;
+    }
+
+    // remove and return the item from the back, or null if the deque is empty
+    public Item pollLast() {
+        Item item = items.pollLast();
+        if (item != null) size.decrement();
+        return item;
+    }
+
+    // weakly consistent iterator from front to back
+    public Iterator<Item> iterator() {
+        Iterator<Item> it = items.iterator();
+        return new Iterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) throw new NoSuchElementException("No more elements");
+                return it.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove() is not supported");
+            }
+        };
+    }
+
+    // Unit testing
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        int threads = 8;
+        int perThread = 100_000;
+
+        // Every thread pushes its own range and pops as many items as it pushed
+        Thread[] workers = new Thread[threads];
+        long[] sums = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int item = id * perThread + i;
+                    if ((i & 1) == 0) deque.addFirst(item);
+                    else deque.addLast(item);
+                }
+                for (int i = 0; i < perThread; i++) {
+                    Integer item = (i & 1) == 0 ? deque.pollLast() : deque.pollFirst();
+                    while (item == null) item = deque.pollFirst();
+                    sums[id] += item;
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        long total = 0;
+        for (long sum : sums) total += sum;
+        long expected = (long) threads * perThread * (threads * perThread - 1) / 2;
+        System.out.println("every item removed exactly once: " + (total == expected));
+        System.out.println("isEmpty(): " + deque.isEmpty() + ", size(): " + deque.size());
+    }
+}
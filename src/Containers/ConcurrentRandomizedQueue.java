@@ -0,0 +1,341 @@
+package Containers;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread-safe RandomizedQueue for use as a random-order task pool. Items are striped
+// across segments, each an array with its own lock, so threads touching different
+// segments never contend. All randomness comes from ThreadLocalRandom.
+//
+// dequeue() and sample() pick a segment and a slot below a bound on every segment's
+// capacity at random, and accept when the slot holds an item. Each item is then
+// equally likely, and a pick reads just one segment rather than every one. When
+// most slots are empty, say after the queue has drained from its peak, a pick falls
+// back to choosing a position over the exact total size. Either way every item is
+// equally likely whenever no other thread is changing the queue at the same moment.
+public class ConcurrentRandomizedQueue<Item> implements Iterable<Item> {
+    // Random slots tried per segment before falling back to the exact total
+    private static final int ATTEMPTS_PER_SEGMENT = 2;
+
+    // Segments are written by the threads that enqueue into and dequeue from them, so
+    // their fields are padded on both sides to keep each on its own cache lines; the
+    // superclass chain fixes the field order, which the JVM would otherwise choose
+    private abstract static class SegmentPadding {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    private abstract static class SegmentFields<Item> extends SegmentPadding {
+        Item[] items = newArray(2);
+        // Written under the segment lock, read without it when choosing a segment
+        volatile int size;
+    }
+
+    private static final class Segment<Item> extends SegmentFields<Item> {
+        long q00, q01, q02, q03, q04, q05, q06, q07;
+        long q10, q11, q12, q13, q14, q15, q16, q17;
+    }
+
+    private final Segment<Item>[] segments;
+    // Largest capacity any segment has had, so never below a segment's size; only
+    // written when a segment grows past it
+    private final AtomicInteger maxCapacity = new AtomicInteger(2);
+
+    // construct an empty randomized queue with one segment per available processor
+    public ConcurrentRandomizedQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // construct an empty randomized queue with the given number of segments
+    public ConcurrentRandomizedQueue(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        @SuppressWarnings("unchecked")
+        Segment<Item>[] segments = (Segment<Item>[]) new Segment<?>[stripes];
+        this.segments = segments;
+        for (int s = 0; s < stripes; s++) {
+            segments[s] = new Segment<>();
+        }
+    }
+
+    // is the randomized queue empty?
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // return the number of items on the randomized queue; exact only while no other
+    // thread is changing it
+    public int size() {
+        long total = 0;
+        for (Segment<Item> segment : segments) {
+            total += segment.size;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    // add the item
+    public void enqueue(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot enqueue null item");
+        }
+
+        // A random segment keeps the segments balanced whichever threads enqueue
+        Segment<Item> segment = segments[ThreadLocalRandom.current().nextInt(segments.length)];
+        synchronized (segment) {
+            int size = segment.size;
+            if (size == segment.items.length) {
+                resize(segment, 2 * size);
+            }
+            segment.items[size] = item;
+            segment.size = size + 1;
+        }
+    }
+
+    // remove and return a random item
+    public Item dequeue() {
+        Item item = poll();
+        if (item == null) {
+            throw new NoSuchElementException("RandomizedQueue is empty");
+        }
+        return item;
+    }
+
+    // remove and return a random item, or null if the queue is empty
+    public Item poll() {
+        return take(true);
+    }
+
+    // return a random item (but do not remove it)
+    public Item sample() {
+        Item item = take(false);
+        if (item == null) {
+            throw new NoSuchElementException("RandomizedQueue is empty");
+        }
+        return item;
+    }
+
+    // pick a uniformly random item, removing it if asked; null if the queue is empty
+    private Item take(boolean remove) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // A random slot below maxCapacity of a random segment holds each item with the
+        // same probability, so accepting the first one that holds an item is uniform
+        for (int attempt = ATTEMPTS_PER_SEGMENT * segments.length; attempt > 0; attempt--) {
+            Segment<Item> segment = segments[random.nextInt(segments.length)];
+            int slot = random.nextInt(maxCapacity.get());
+            if (slot < segment.size) {
+                synchronized (segment) {
+                    if (slot < segment.size) {
+                        return remove ? removeAt(segment, slot) : segment.items[slot];
+                    }
+                }
+            }
+        }
+
+        // Mostly empty slots: choose a position over the exact total instead
+        while (true) {
+            long total = 0;
+            for (Segment<Item> segment : segments) {
+                total += segment.size;
+            }
+            if (total == 0) {
+                return null;
+            }
+
+            // Walk to the segment holding the chosen position; if another thread
+            // changed it in the meantime, choose again
+            long position = random.nextLong(total);
+            for (Segment<Item> segment : segments) {
+                int size = segment.size;
+                if (position < size) {
+                    synchronized (segment) {
+                        if (position < segment.size) {
+                            return remove ? removeAt(segment, (int) position) : segment.items[(int) position];
+                        }
+                    }
+                    break;
+                }
+                position -= size;
+            }
+        }
+    }
+
+    // swap-remove the item at index, as in RandomizedQueue.dequeue; caller holds the lock
+    private <Item> Item removeAt(Segment<Item> segment, int index) {
+        int size = segment.size - 1;
+        Item item = segment.items[index];
+        segment.items[index] = segment.items[size];
+        segment.items[size] = null;  // avoid loitering
+        segment.size = size;
+
+        // shrink the array if necessary
+        if (size > 0 && size == segment.items.length / 4) {
+            resize(segment, segment.items.length / 2);
+        }
+        return item;
+    }
+
+    // resize a segment's array; caller holds the lock
+    private <Item> void resize(Segment<Item> segment, int capacity) {
+        // Raise the bound before the segment can hold more items than it allows
+        if (capacity > maxCapacity.get()) {
+            maxCapacity.accumulateAndGet(capacity, Math::max);
+        }
+        Item[] copy = newArray(capacity);
+        System.arraycopy(segment.items, 0, copy, 0, segment.size);
+        segment.items = copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int capacity) {
+        return (Item[]) new Object[capacity];
+    }
+
+    // return an iterator over a snapshot of the items, in random order
+    public Iterator<Item> iterator() {
+        return new SnapshotIterator();
+    }
+
+    private class SnapshotIterator implements Iterator<Item> {
+        private final Object[] snapshot;
+        private int currentIndex;
+
+        SnapshotIterator() {
+            Object[] copy = new Object[size()];
+            int count = 0;
+            for (Segment<Item> segment : segments) {
+                synchronized (segment) {
+                    int size = segment.size;
+                    if (count + size > copy.length) {
+                        Object[] larger = new Object[Math.max(2 * copy.length, count + size)];
+                        System.arraycopy(copy, 0, larger, 0, count);
+                        copy = larger;
+                    }
+                    System.arraycopy(segment.items, 0, copy, count, size);
+                    count += size;
+                }
+            }
+
+            // Fisher-Yates shuffle of the collected items
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Object tmp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = tmp;
+            }
+            snapshot = count == copy.length ? copy : Arrays.copyOf(copy, count);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIndex < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")  // the snapshot only holds Items
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items to return");
+            }
+            return (Item) snapshot[currentIndex++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+    }
+
+    // unit testing
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== ConcurrentRandomizedQueue Unit Testing ===");
+
+        // 1. Uniformity: with 10 items spread unevenly over 8 segments, dequeue one,
+        // count it and put it back. A chi-square test with 9 degrees of freedom
+        // rejects uniformity at the 0.1% level above 27.88.
+        ConcurrentRandomizedQueue<Integer> queue = new ConcurrentRandomizedQueue<>(8);
+        int values = 10;
+        int draws = 200_000;
+        for (int i = 0; i < values; i++) {
+            queue.enqueue(i);
+        }
+        long[] dequeued = new long[values];
+        long[] sampled = new long[values];
+        for (int d = 0; d < draws; d++) {
+            sampled[queue.sample()]++;
+            Integer item = queue.dequeue();
+            dequeued[item]++;
+            queue.enqueue(item);
+        }
+        System.out.printf("\n1. dequeue() chi-square = %.2f (uniform if < 27.88)%n", chiSquare(dequeued, draws));
+        System.out.printf("   sample()  chi-square = %.2f (uniform if < 27.88)%n", chiSquare(sampled, draws));
+
+        // The same after the queue has grown to 4096 items and drained back to 10, so
+        // that most slots below maxCapacity are empty and picks use the exact total
+        ConcurrentRandomizedQueue<Integer> drained = new ConcurrentRandomizedQueue<>(8);
+        for (int i = 0; i < 4096; i++) {
+            drained.enqueue(i < values ? i : -1);
+        }
+        while (drained.size() > values) {
+            Integer item = drained.dequeue();
+            if (item >= 0) drained.enqueue(item);
+        }
+        long[] afterDrain = new long[values];
+        for (int d = 0; d < draws; d++) {
+            Integer item = drained.dequeue();
+            afterDrain[item]++;
+            drained.enqueue(item);
+        }
+        System.out.printf("   after draining: chi-square = %.2f (uniform if < 27.88)%n", chiSquare(afterDrain, draws));
+
+        // 2. Many threads enqueue and dequeue at once; every item must come out exactly once
+        ConcurrentRandomizedQueue<Integer> shared = new ConcurrentRandomizedQueue<>();
+        int threads = 8;
+        int perThread = 100_000;
+        long[] sums = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    shared.enqueue(id * perThread + i);
+                }
+                for (int i = 0; i < perThread; i++) {
+                    Integer item = shared.poll();
+                    while (item == null) item = shared.poll();
+                    sums[id] += item;
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        long total = 0;
+        for (long sum : sums) total += sum;
+        long expected = (long) threads * perThread * (threads * perThread - 1) / 2;
+        System.out.println("\n2. every item dequeued exactly once: " + (total == expected));
+        System.out.println("   isEmpty(): " + shared.isEmpty());
+
+        try {
+            shared.dequeue();
+            System.out.println("   ERROR: dequeue() should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            System.out.println("   Successfully caught exception for dequeue() on empty queue");
+        }
+
+        System.out.println("\n=== End of Unit Testing ===");
+    }
+
+    private static double chiSquare(long[] observed, long total) {
+        double expected = (double) total / observed.length;
+        double chi = 0;
+        for (long count : observed) {
+            chi += (count - expected) * (count - expected) / expected;
+        }
+        return chi;
+    }
+}
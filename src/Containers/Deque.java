@@ -1,24 +1,22 @@
 package Containers;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 public class Deque<Item> implements Iterable<Item> {
-    private class Node {
-        Item item;
-        Node next;
-        Node prev;
-    }
+    private static final int MIN_CAPACITY = 8;  // power of two
 
-    private Node head, tail;
+    // Circular buffer: the items sit at head, head + 1, ... (mod capacity). The
+    // capacity is always a power of two so wrapping is a mask instead of a branch.
+    private Item[] items;
+    private int head;
     private int size;
+    private int modCount;  // structural changes, for fail-fast iteration
 
     // construct an empty deque
     public Deque() {
-        head = new Node();
-        tail = new Node();
-        head.next = tail;
-        tail.prev = head;
+        items = newArray(MIN_CAPACITY);
     }
 
     // is the deque empty?
@@ -34,61 +32,82 @@ public class Deque<Item> implements Iterable<Item> {
     // add the item to the front
     public void addFirst(Item item) {
         if (item == null) throw new IllegalArgumentException("Item cannot be null");
-        Node first = new Node();
-        first.item = item;
-        first.next = head.next;
-        first.prev = head;
-        head.next.prev = first;
-        head.next = first;
+        if (size == items.length) resize(2 * items.length);
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
         size++;
+        modCount++;
     }
 
     // add the item to the back
     public void addLast(Item item) {
         if (item == null) throw new IllegalArgumentException("Item cannot be null");
-        Node last = new Node();
-        last.item = item;
-        last.next = tail;
-        last.prev = tail.prev;
-        tail.prev.next = last;
-        tail.prev = last;
+        if (size == items.length) resize(2 * items.length);
+        items[(head + size) & (items.length - 1)] = item;
         size++;
+        modCount++;
     }
 
     // remove and return the item from the front
     public Item removeFirst() {
         if (isEmpty()) throw new NoSuchElementException("Deque is empty");
-        Node first = head.next;
-        head.next = first.next;
-        first.next.prev = head;
+        Item item = items[head];
+        items[head] = null;  // avoid loitering
+        head = (head + 1) & (items.length - 1);
         size--;
-        return first.item;
+        modCount++;
+        shrinkIfSparse();
+        return item;
     }
 
     // remove and return the item from the back
     public Item removeLast() {
         if (isEmpty()) throw new NoSuchElementException("Deque is empty");
-        Node last = tail.prev;
-        tail.prev = last.prev;
-        last.prev.next = tail;
+        int last = (head + size - 1) & (items.length - 1);
+        Item item = items[last];
+        items[last] = null;  // avoid loitering
         size--;
-        return last.item;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    // halve the buffer once it is only a quarter full
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && size == items.length / 4) {
+            resize(items.length / 2);
+        }
+    }
+
+    // move the items to a buffer of the given capacity, unwrapped to start at index 0
+    private void resize(int capacity) {
+        Item[] copy = newArray(capacity);
+        int firstRun = Math.min(size, items.length - head);
+        System.arraycopy(items, head, copy, 0, firstRun);
+        System.arraycopy(items, 0, copy, firstRun, size - firstRun);
+        items = copy;
+        head = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int capacity) {
+        return (Item[]) new Object[capacity];
     }
 
     private class DequeIterator implements Iterator<Item> {
-        private Node current = head.next;
+        private int index;
+        private final int expectedModCount = modCount;
 
         @Override
         public boolean hasNext() {
-            return current != tail;
+            return index < size;
         }
 
         @Override
         public Item next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
             if (!hasNext()) throw new NoSuchElementException("No more elements");
-            Item item = current.item;
-            current = current.next;
-            return item;
+            return items[(head + index++) & (items.length - 1)];
         }
 
         @Override
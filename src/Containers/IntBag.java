@@ -0,0 +1,126 @@
+package Containers;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Bag specialised for int, for graph adjacency lists. Copying ints is cheap, so it
+// keeps one array that doubles when full rather than chunks, and items can also be
+// read by position. Like IntDeque it does not implement Iterable<Integer>; iterate
+// with iterator().nextInt() or loop over get(i).
+public class IntBag {
+    private static final int[] EMPTY = new int[0];
+    private static final int FIRST_CAPACITY = 4;
+
+    private int[] items = EMPTY;  // allocated by the first add
+    private int size;
+
+    // construct an empty bag
+    public IntBag() {
+    }
+
+    // is the bag empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items in the bag
+    public int size() {
+        return size;
+    }
+
+    // add the item
+    public void add(int item) {
+        if (size == items.length) grow(size + 1);
+        items[size++] = item;
+    }
+
+    // add every item, in array order
+    public void addAll(int[] items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        if (size + items.length > this.items.length) grow(size + items.length);
+        System.arraycopy(items, 0, this.items, size, items.length);
+        size += items.length;
+    }
+
+    // return the i-th item added
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " is not between 0 and " + (size - 1));
+        }
+        return items[i];
+    }
+
+    // return the items in insertion order, in a new array
+    public int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    // make room for at least the given number of items
+    private void grow(int needed) {
+        if (needed < 0) {
+            throw new IllegalStateException("Bag is full");
+        }
+        long capacity = Math.max(Math.max(FIRST_CAPACITY, 2L * items.length), needed);
+        items = Arrays.copyOf(items, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+    }
+
+    private class IntBagIterator implements PrimitiveIterator.OfInt {
+        private final int expectedSize = size;  // a bag only changes by growing
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < expectedSize;
+        }
+
+        @Override
+        public int nextInt() {
+            if (size != expectedSize) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException("No more elements");
+            return items[index++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported");
+        }
+    }
+
+    // iterator over the items in insertion order
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntBagIterator();
+    }
+
+    // Unit testing: adjacency lists of a small graph
+    public static void main(String[] args) {
+        int[][] edges = {{0, 1}, {0, 2}, {1, 2}, {2, 3}};
+        IntBag[] adjacency = new IntBag[4];
+        for (int v = 0; v < adjacency.length; v++) adjacency[v] = new IntBag();
+        for (int[] edge : edges) {
+            adjacency[edge[0]].add(edge[1]);
+            adjacency[edge[1]].add(edge[0]);
+        }
+        for (int v = 0; v < adjacency.length; v++) {
+            StringBuilder line = new StringBuilder(v + ":");
+            for (PrimitiveIterator.OfInt it = adjacency[v].iterator(); it.hasNext(); ) line.append(' ').append(it.nextInt());
+            System.out.println(line + "  (size " + adjacency[v].size() + ")");
+        }
+
+        IntBag bag = new IntBag();
+        bag.addAll(new int[] {5, 6, 7});
+        for (int i = 0; i < 1000; i++) bag.add(i);
+        System.out.println("size(): " + bag.size() + ", get(2): " + bag.get(2)
+                + ", toArray()[1002]: " + bag.toArray()[1002]);
+
+        try {
+            bag.get(bag.size());
+            System.out.println("ERROR: get() should have thrown an exception");
+        } catch (IndexOutOfBoundsException e) {
+            System.out.println("Successfully caught exception for get() out of bounds");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package Containers;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Deque specialised for int: same circular buffer as Deque, but backed by an int[]
+// so nothing is boxed. It deliberately does not implement Iterable<Integer>;
+// iterate with iterator().nextInt().
+public class IntDeque {
+    private static final int MIN_CAPACITY = 8;  // power of two
+
+    private int[] items;
+    private int head;
+    private int size;
+    private int modCount;  // structural changes, for fail-fast iteration
+
+    // construct an empty deque
+    public IntDeque() {
+        items = new int[MIN_CAPACITY];
+    }
+
+    // is the deque empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items on the deque
+    public int size() {
+        return size;
+    }
+
+    // add the item to the front
+    public void addFirst(int item) {
+        if (size == items.length) resize(2 * items.length);
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    // add the item to the back
+    public void addLast(int item) {
+        if (size == items.length) resize(2 * items.length);
+        items[(head + size) & (items.length - 1)] = item;
+        size++;
+        modCount++;
+    }
+
+    // remove and return the item from the front
+    public int removeFirst() {
+        if (isEmpty()) throw new NoSuchElementException("Deque is empty");
+        int item = items[head];
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    // remove and return the item from the back
+    public int removeLast() {
+        if (isEmpty()) throw new NoSuchElementException("Deque is empty");
+        int item = items[(head + size - 1) & (items.length - 1)];
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    // halve the buffer once it is only a quarter full
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && size == items.length / 4) {
+            resize(items.length / 2);
+        }
+    }
+
+    // move the items to a buffer of the given capacity, unwrapped to start at index 0
+    private void resize(int capacity) {
+        int[] copy = new int[capacity];
+        int firstRun = Math.min(size, items.length - head);
+        System.arraycopy(items, head, copy, 0, firstRun);
+        System.arraycopy(items, 0, copy, firstRun, size - firstRun);
+        items = copy;
+        head = 0;
+    }
+
+    private class IntDequeIterator implements PrimitiveIterator.OfInt {
+        private int index;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException("No more elements");
+            return items[(head + index++) & (items.length - 1)];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported");
+        }
+    }
+
+    // iterator over the items from front to back
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntDequeIterator();
+    }
+
+    // Unit testing
+    public static void main(String[] args) {
+        IntDeque deque = new IntDeque();
+        System.out.println("isEmpty(): " + deque.isEmpty());
+        deque.addFirst(1);
+        deque.addLast(2);
+        deque.addFirst(3);
+        deque.addLast(4);
+        System.out.println("size(): " + deque.size());
+        for (PrimitiveIterator.OfInt it = deque.iterator(); it.hasNext(); ) System.out.println(it.nextInt());
+        System.out.println("removeFirst(): " + deque.removeFirst());
+        System.out.println("removeLast(): " + deque.removeLast());
+        System.out.println("size(): " + deque.size());
+        for (PrimitiveIterator.OfInt it = deque.iterator(); it.hasNext(); ) System.out.println(it.nextInt());
+    }
+}
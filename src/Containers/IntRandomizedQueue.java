@@ -0,0 +1,130 @@
+package Containers;
+
+import edu.princeton.cs.algs4.StdRandom;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// RandomizedQueue specialised for int, backed by an int[] so nothing is boxed.
+// It deliberately does not implement Iterable<Integer>; iterate with iterator().nextInt().
+public class IntRandomizedQueue {
+    private int[] items;  // array of items
+    private int size;     // number of elements
+
+    // construct an empty randomized queue
+    public IntRandomizedQueue() {
+        items = new int[2];  // initial capacity of 2
+        size = 0;
+    }
+
+    // is the randomized queue empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items on the randomized queue
+    public int size() {
+        return size;
+    }
+
+    // resize the underlying array
+    private void resize(int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(items, 0, copy, 0, size);
+        items = copy;
+    }
+
+    // add the item
+    public void enqueue(int item) {
+        // double size of array if necessary
+        if (size == items.length) {
+            resize(2 * items.length);
+        }
+
+        items[size++] = item;
+    }
+
+    // remove and return a random item
+    public int dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("RandomizedQueue is empty");
+        }
+
+        // move the last item to the random position (avoid holes)
+        int randomIndex = StdRandom.uniformInt(size);
+        int item = items[randomIndex];
+        items[randomIndex] = items[--size];
+
+        // shrink the array if necessary
+        if (size > 0 && size == items.length / 4) {
+            resize(items.length / 2);
+        }
+
+        return item;
+    }
+
+    // return a random item (but do not remove it)
+    public int sample() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("RandomizedQueue is empty");
+        }
+
+        return items[StdRandom.uniformInt(size)];
+    }
+
+    // return an independent iterator over items in random order
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntRandomizedQueueIterator();
+    }
+
+    private class IntRandomizedQueueIterator implements PrimitiveIterator.OfInt {
+        private final int[] shuffledItems;
+        private int currentIndex;
+
+        IntRandomizedQueueIterator() {
+            shuffledItems = new int[size];
+            System.arraycopy(items, 0, shuffledItems, 0, size);
+            StdRandom.shuffle(shuffledItems);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIndex < shuffledItems.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items to return");
+            }
+            return shuffledItems[currentIndex++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+    }
+
+    // unit testing
+    public static void main(String[] args) {
+        IntRandomizedQueue queue = new IntRandomizedQueue();
+        System.out.println("isEmpty(): " + queue.isEmpty());
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(i);
+        }
+        System.out.println("size(): " + queue.size());
+        System.out.println("sample(): " + queue.sample());
+        for (PrimitiveIterator.OfInt it = queue.iterator(); it.hasNext(); ) System.out.println(it.nextInt());
+        System.out.println("dequeue(): " + queue.dequeue());
+        System.out.println("dequeue(): " + queue.dequeue());
+        System.out.println("size(): " + queue.size());
+        while (!queue.isEmpty()) System.out.println("dequeue(): " + queue.dequeue());
+
+        try {
+            queue.dequeue();
+            System.out.println("ERROR: dequeue() should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            System.out.println("Successfully caught exception for dequeue() on empty queue");
+        }
+    }
+}
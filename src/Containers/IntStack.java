@@ -0,0 +1,147 @@
+package Containers;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// SStack specialised for int, for explicit DFS stacks over site indices. The
+// capacity never shrinks below the one it was created with, so a stack sized for
+// the expected depth allocates nothing at all. Like IntDeque it does not implement
+// Iterable<Integer>; iterate with iterator().nextInt().
+public class IntStack {
+    private static final int MIN_CAPACITY = 8;
+
+    private final int minCapacity;
+    private int[] items;
+    private int size;
+    private int modCount;  // structural changes, for fail-fast iteration
+
+    // construct an empty stack
+    public IntStack() {
+        this(MIN_CAPACITY);
+    }
+
+    // construct an empty stack whose array never shrinks below the given capacity
+    public IntStack(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        minCapacity = Math.max(capacity, MIN_CAPACITY);
+        items = new int[minCapacity];
+    }
+
+    // is the stack empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items on the stack
+    public int size() {
+        return size;
+    }
+
+    // add the item to the top
+    public void push(int item) {
+        if (size == items.length) resize(2 * items.length);
+        items[size++] = item;
+        modCount++;
+    }
+
+    // push every item in array order, so the last one ends up on top
+    public void pushAll(int[] items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        if (size + items.length > this.items.length) {
+            resize(Math.max(2 * this.items.length, size + items.length));
+        }
+        System.arraycopy(items, 0, this.items, size, items.length);
+        size += items.length;
+        modCount++;
+    }
+
+    // remove and return the item on top
+    public int pop() {
+        if (isEmpty()) throw new NoSuchElementException("Stack is empty");
+        int item = items[--size];
+        modCount++;
+        if (items.length > minCapacity && size == items.length / 4) {
+            resize(Math.max(items.length / 2, minCapacity));
+        }
+        return item;
+    }
+
+    // return the item on top without removing it
+    public int peek() {
+        if (isEmpty()) throw new NoSuchElementException("Stack is empty");
+        return items[size - 1];
+    }
+
+    // remove every item, keeping the current array
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    // move the items to an array of the given capacity
+    private void resize(int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(items, 0, copy, 0, size);
+        items = copy;
+    }
+
+    private class IntStackIterator implements PrimitiveIterator.OfInt {
+        private int index = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return index > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException("No more elements");
+            return items[--index];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported");
+        }
+    }
+
+    // iterator over the items from top to bottom
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntStackIterator();
+    }
+
+    // Unit testing
+    public static void main(String[] args) {
+        IntStack stack = new IntStack();
+        stack.push(1);
+        stack.pushAll(new int[] {2, 3, 4});
+        System.out.println("size(): " + stack.size());
+        System.out.println("peek(): " + stack.peek());
+        for (PrimitiveIterator.OfInt it = stack.iterator(); it.hasNext(); ) System.out.println(it.nextInt());
+        System.out.println("pop(): " + stack.pop());
+        System.out.println("pop(): " + stack.pop());
+        System.out.println("size(): " + stack.size());
+
+        // Grow well past the floor and back; the array returns to the floor, not below
+        IntStack sized = new IntStack(100);
+        for (int i = 0; i < 10_000; i++) sized.push(i);
+        long sum = 0;
+        while (!sized.isEmpty()) sum += sized.pop();
+        System.out.println("sum of 0..9999 popped: " + sum + " (expected 49995000)");
+        System.out.println("capacity after emptying: " + sized.items.length + " (expected 100)");
+
+        try {
+            sized.pop();
+            System.out.println("ERROR: pop() should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            System.out.println("Successfully caught exception for pop() on empty stack");
+        }
+    }
+}
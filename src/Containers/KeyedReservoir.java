@@ -0,0 +1,105 @@
+package Containers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Bounded max-heap that keeps the k items with the smallest keys offered so far.
+// The reservoir samplers give every item a random key, so the kept items are a
+// random sample and the largest kept key is the bar a new item has to beat.
+final class KeyedReservoir<Item> {
+    private final double[] keys;
+    private final Object[] items;
+    private int size;
+
+    KeyedReservoir(int capacity) {
+        keys = new double[capacity];
+        items = new Object[capacity];
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == keys.length;
+    }
+
+    // largest key kept; only meaningful once the reservoir is not empty
+    double maxKey() {
+        return keys[0];
+    }
+
+    // keep the item if the reservoir has room or its key beats the largest kept key
+    void add(double key, Item item) {
+        if (size < keys.length) {
+            keys[size] = key;
+            items[size] = item;
+            siftUp(size++);
+        } else if (size > 0 && key < keys[0]) {
+            keys[0] = key;
+            items[0] = item;
+            siftDown(0);
+        }
+    }
+
+    // offer every entry of another reservoir
+    void addAll(KeyedReservoir<Item> other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.keys[i], other.itemAt(i));
+        }
+    }
+
+    // the kept items, in heap order
+    List<Item> items() {
+        List<Item> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(itemAt(i));
+        }
+        return result;
+    }
+
+    // the item in heap slot i; items only ever holds Items
+    @SuppressWarnings("unchecked")
+    private Item itemAt(int i) {
+        return (Item) items[i];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (keys[parent] >= keys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && keys[left] > keys[largest]) largest = left;
+            if (right < size && keys[right] > keys[largest]) largest = right;
+            if (largest == i) {
+                return;
+            }
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        Object item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+}
@@ -1,25 +1,34 @@
 package Containers;
 
-import edu.princeton.cs.algs4.StdIn;
+import IO.Token;
+import IO.TokenReader;
 import edu.princeton.cs.algs4.StdOut;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class Permutation {
 
-    public static void main(String[] args) {
-        if(args.length != 1) {
-            throw new IllegalArgumentException("Usage: Permutation <input file>");
+    // print k strings chosen uniformly at random from the input file, or standard input,
+    // in random order, keeping only k strings in memory
+    public static void main(String[] args) throws IOException {
+        if(args.length != 1 && args.length != 2) {
+            throw new IllegalArgumentException("Usage: Permutation <k> [input file]");
         }
-        int n = Integer.parseInt(args[0]);
-        var queue = new RandomizedQueue<String>();
-        while(!StdIn.isEmpty() && (queue.size() < n)) {
-            queue.enqueue(StdIn.readString());
+        int k = Integer.parseInt(args[0]);
+        var sampler = new ReservoirSampler<String>(k);
+        try (TokenReader in = args.length == 2 ? TokenReader.open(Paths.get(args[1])) : TokenReader.stdin()) {
+            for (Token token = in.next(); token != null; token = in.next()) {
+                // Only strings that make it into the reservoir are ever decoded
+                if (sampler.skippable() > 0) {
+                    sampler.skip(1);
+                } else {
+                    sampler.offer(token.toString());
+                }
+            }
         }
 
-        while(!queue.isEmpty()) {
-            StdOut.println(queue.dequeue());
+        for (String item : sampler.sample()) {
+            StdOut.println(item);
         }
-
-
-
     }
 }
@@ -1,12 +1,20 @@
 package Containers;
 
 import edu.princeton.cs.algs4.StdRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 public class RandomizedQueue<Item> implements Iterable<Item> {
     private Item[] items;  // array of items
     private int size;      // number of elements
+    private int modCount;  // changes to the items or their order, for fail-fast iteration
 
     // construct an empty randomized queue
     public RandomizedQueue() {
@@ -14,6 +22,15 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         size = 0;
     }
 
+    // construct an empty randomized queue with room for capacity items before it resizes
+    public RandomizedQueue(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        items = (Item[]) new Object[Math.max(1, capacity)];
+        size = 0;
+    }
+
     // is the randomized queue empty?
     public boolean isEmpty() {
         return size == 0;
@@ -26,11 +43,14 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
     // resize the underlying array
     private void resize(int capacity) {
-        Item[] copy = (Item[]) new Object[capacity];
-        for (int i = 0; i < size; i++) {
-            copy[i] = items[i];
+        items = Arrays.copyOf(items, capacity);
+    }
+
+    // make room for at least capacity items with a single resize
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            resize(Math.max(capacity, 2 * items.length));
         }
-        items = copy;
     }
 
     // add the item
@@ -46,6 +66,66 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         // add item
         items[size++] = item;
+        modCount++;
+    }
+
+    // add all the items of the array; if any is null none of them is added
+    public void enqueueAll(Item[] newItems) {
+        if (newItems == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        for (Item item : newItems) {
+            if (item == null) {
+                throw new IllegalArgumentException("Cannot enqueue null item");
+            }
+        }
+        ensureCapacity(size + newItems.length);
+        System.arraycopy(newItems, 0, items, size, newItems.length);
+        size += newItems.length;
+        modCount++;
+    }
+
+    // add all the items of the collection; if any is null none of them is added
+    public void enqueueAll(Collection<? extends Item> newItems) {
+        if (newItems == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        ensureCapacity(size + newItems.size());
+        int start = size;
+        for (Item item : newItems) {
+            if (item == null) {
+                truncate(start);
+                throw new IllegalArgumentException("Cannot enqueue null item");
+            }
+            enqueue(item);
+        }
+    }
+
+    // add all the items of the stream, pre-sizing when the stream knows its size;
+    // if any is null, or the stream fails, none of them is added
+    public void enqueueAll(Stream<? extends Item> newItems) {
+        if (newItems == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        Spliterator<? extends Item> spliterator = newItems.spliterator();
+        long expected = spliterator.getExactSizeIfKnown();
+        if (expected > 0) {
+            ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, size + expected));
+        }
+        int start = size;
+        try {
+            spliterator.forEachRemaining(this::enqueue);
+        } catch (RuntimeException e) {
+            truncate(start);
+            throw e;
+        }
+    }
+
+    // drop the items added at or after index start
+    private void truncate(int start) {
+        Arrays.fill(items, start, size, null);
+        size = start;
+        modCount++;
     }
 
     // remove and return a random item
@@ -62,6 +142,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         items[randomIndex] = items[size - 1];
         items[size - 1] = null;  // avoid loitering
         size--;
+        modCount++;
 
         // shrink the array if necessary
         if (size > 0 && size == items.length / 4) {
@@ -81,39 +162,99 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         return items[randomIndex];
     }
 
+    // remove and return k random items, in random order, with at most one resize
+    public List<Item> dequeue(int k) {
+        checkBatchSize(k);
+
+        List<Item> result = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            int randomIndex = StdRandom.uniformInt(size);
+            result.add(items[randomIndex]);
+            items[randomIndex] = items[size - 1];
+            items[size - 1] = null;  // avoid loitering
+            size--;
+        }
+        modCount++;
+
+        // shrink once to where repeated single dequeues would have left the array
+        int capacity = items.length;
+        while (size > 0 && size <= capacity / 4) {
+            capacity /= 2;
+        }
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+        return result;
+    }
+
+    // return k distinct random items, in random order, without removing them
+    public List<Item> sample(int k) {
+        checkBatchSize(k);
+
+        // Partial Fisher-Yates over a virtual index array, as in the iterator, so the
+        // items and their order are left alone and live iterators stay valid; only
+        // the O(k) displaced positions are stored
+        List<Item> result = new ArrayList<>(k);
+        IndexMap displaced = new IndexMap();
+        for (int i = 0; i < k; i++) {
+            int j = i + StdRandom.uniformInt(size - i);
+            result.add(items[displaced.get(j, j)]);
+            if (j != i) {
+                displaced.put(j, displaced.get(i, i));
+            }
+        }
+        return result;
+    }
+
+    private void checkBatchSize(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of items cannot be negative");
+        }
+        if (k > size) {
+            throw new NoSuchElementException("RandomizedQueue holds fewer than " + k + " items");
+        }
+    }
+
     // return an independent iterator over items in random order
     public Iterator<Item> iterator() {
         return new RandomizedQueueIterator();
     }
 
+    // Lazy Fisher-Yates shuffle over the indices of items: step k swaps a random
+    // position from [k, size) into position k of a virtual index array that starts as
+    // the identity. Only displaced positions are stored, so setting up the iterator
+    // and fetching the first item are O(1), and memory grows with the items consumed.
     private class RandomizedQueueIterator implements Iterator<Item> {
-        private final Item[] shuffledItems;
+        private final int expectedModCount = modCount;
+        private final int count = size;
+        private IndexMap displaced;  // allocated on the first call to next()
         private int currentIndex;
 
-        public RandomizedQueueIterator() {
-            // Create a copy of the items array
-            shuffledItems = (Item[]) new Object[size];
-            for (int i = 0; i < size; i++) {
-                shuffledItems[i] = items[i];
-            }
-
-            // Shuffle the copied array
-            StdRandom.shuffle(shuffledItems, 0, size);
-
-            currentIndex = 0;
-        }
-
         @Override
         public boolean hasNext() {
-            return currentIndex < size;
+            return currentIndex < count;
         }
 
         @Override
         public Item next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException("No more items to return");
             }
-            return shuffledItems[currentIndex++];
+            if (displaced == null) {
+                displaced = new IndexMap();
+            }
+
+            int k = currentIndex++;
+            int j = k + StdRandom.uniformInt(count - k);
+            int picked = displaced.get(j, j);
+            if (j != k) {
+                // position k is never read again, so it needs no entry
+                displaced.put(j, displaced.get(k, k));
+            }
+            return items[picked];
         }
 
         @Override
@@ -122,6 +263,63 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         }
     }
 
+    // Open-addressing int-to-int map for the lazy shuffle, without boxing
+    private static final class IndexMap {
+        private static final int EMPTY = -1;
+
+        private int[] keys = newKeys(8);
+        private int[] values = new int[8];
+        private int size;
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        int get(int key, int defaultValue) {
+            int slot = slot(keys, key);
+            return keys[slot] == EMPTY ? defaultValue : values[slot];
+        }
+
+        void put(int key, int value) {
+            int slot = slot(keys, key);
+            if (keys[slot] == EMPTY) {
+                if (2 * (size + 1) > keys.length) {
+                    grow();
+                    slot = slot(keys, key);
+                }
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(2 * oldKeys.length);
+            values = new int[2 * oldKeys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        // slot holding key, or the empty slot where it would go
+        private static int slot(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
     // unit testing
     public static void main(String[] args) {
         RandomizedQueue<String> queue = new RandomizedQueue<>();
@@ -247,6 +445,48 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         }
         System.out.println("  ... (remaining items)");
 
+        // Test bulk operations
+        System.out.println("\n11. Testing bulk operations:");
+        RandomizedQueue<String> bulk = new RandomizedQueue<>(8);
+        bulk.enqueueAll(new String[] {"a", "b", "c"});
+        bulk.enqueueAll(List.of("d", "e", "f"));
+        bulk.enqueueAll(Stream.of("g", "h"));
+        System.out.println("  size() after enqueueAll: " + bulk.size());
+        Iterator<String> live = bulk.iterator();
+        live.next();
+        System.out.println("  sample(3): " + bulk.sample(3));
+        live.next();
+        System.out.println("  iterator still valid after sample(3), size(): " + bulk.size());
+        System.out.println("  dequeue(5): " + bulk.dequeue(5));
+        System.out.println("  size(): " + bulk.size());
+        try {
+            bulk.enqueueAll(new String[] {"x", null});
+            System.out.println("  ERROR: enqueueAll() with a null item should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("  Successfully caught exception for enqueueAll() with a null item, size(): "
+                    + bulk.size());
+        }
+        try {
+            bulk.enqueueAll(Stream.of("x", "y", "z").peek(item -> {
+                if (item.equals("z")) throw new IllegalStateException("stream failed");
+            }));
+            System.out.println("  ERROR: enqueueAll() with a failing stream should have thrown an exception");
+        } catch (IllegalStateException e) {
+            System.out.println("  Successfully caught exception from a failing stream, size(): " + bulk.size());
+        }
+        try {
+            bulk.enqueueAll((List<String>) null);
+            System.out.println("  ERROR: enqueueAll(null) should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("  Successfully caught exception for enqueueAll(null)");
+        }
+        try {
+            bulk.dequeue(4);
+            System.out.println("  ERROR: dequeue(4) should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            System.out.println("  Successfully caught exception for dequeue(k) with k > size()");
+        }
+
         System.out.println("\n=== End of Unit Testing ===");
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package Containers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Uniform random sample of k items from a stream of unknown length in O(k) memory,
+// using Algorithm L: once the reservoir is full, the number of items to pass over
+// before the next replacement is drawn directly from its geometric distribution,
+// so the random generator is only consulted O(k log(n/k)) times for n items.
+//
+// Every kept item carries its random key (the sample is the k smallest of n uniform
+// keys), so samplers that saw disjoint parts of a stream can be merged exactly:
+// split() a sampler per worker, feed each its part, then merge() the results.
+public class ReservoirSampler<Item> {
+    private final KeyedReservoir<Item> reservoir;
+    private final SplittableRandom random;
+    private long count;  // items seen
+    private long skip;   // items to pass over before the next replacement
+
+    // sample k items using a randomly seeded generator
+    public ReservoirSampler(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    // sample k items; the sample only depends on the seed and the items offered
+    public ReservoirSampler(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private ReservoirSampler(int k, SplittableRandom random) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        this.reservoir = new KeyedReservoir<>(k);
+        this.random = random;
+        if (k == 0) drawSkip();
+    }
+
+    // an empty sampler with the same sample size and an independent generator,
+    // for sampling another part of the stream in parallel
+    public ReservoirSampler<Item> split() {
+        return new ReservoirSampler<>(capacity(), random.split());
+    }
+
+    // offer the next item of the stream
+    public void offer(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot offer null item");
+        }
+        count++;
+
+        if (!reservoir.isFull()) {
+            reservoir.add(random.nextDouble(), item);
+            if (reservoir.isFull()) drawSkip();
+            return;
+        }
+        if (skip > 0) {
+            skip--;
+            return;
+        }
+
+        // This item's key is known to be below the current bar, and is uniform there
+        reservoir.add(reservoir.maxKey() * random.nextDouble(), item);
+        drawSkip();
+    }
+
+    // number of upcoming items that will be discarded whatever they are; callers
+    // can pass over them with skip() without materialising them
+    public long skippable() {
+        return reservoir.isFull() ? skip : 0;
+    }
+
+    // account for n upcoming items without looking at them; n must not exceed skippable()
+    public void skip(long n) {
+        if (n < 0 || n > skippable()) {
+            throw new IllegalArgumentException("Can only skip between 0 and skippable() items");
+        }
+        skip -= n;
+        count += n;
+    }
+
+    // fold in the sample of a disjoint part of the stream, taken with the same sample size
+    public void merge(ReservoirSampler<Item> other) {
+        if (other.capacity() != capacity()) {
+            throw new IllegalArgumentException("Cannot merge samplers with different sample sizes");
+        }
+        reservoir.addAll(other.reservoir);
+        count += other.count;
+        // The wait for the next replacement is memoryless, so it can be redrawn
+        if (reservoir.isFull()) drawSkip();
+    }
+
+    // number of items seen so far
+    public long count() {
+        return count;
+    }
+
+    // the sample, min(k, count()) items in random order
+    public List<Item> sample() {
+        List<Item> sample = reservoir.items();
+        for (int i = sample.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            sample.set(i, sample.set(j, sample.get(i)));
+        }
+        return sample;
+    }
+
+    private int capacity() {
+        return reservoir.capacity();
+    }
+
+    // each later item independently beats the bar with probability maxKey(), so the
+    // number of items before the next success is geometric
+    private void drawSkip() {
+        if (reservoir.size() == 0) {
+            skip = Long.MAX_VALUE;
+            return;
+        }
+        double u = 1.0 - random.nextDouble();  // in (0, 1], so the log is finite
+        double s = Math.floor(Math.log(u) / Math.log1p(-reservoir.maxKey()));
+        skip = s >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) s;
+    }
+}
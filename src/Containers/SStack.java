@@ -1,47 +1,138 @@
 package Containers;
 
-import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.Optional;
+import java.util.List;
+import java.util.NoSuchElementException;
 
-public class SStack<Item>  {
-    private class Node {
-        Item item;
-        Node next;
+// Stack backed by a resizing array: push and pop allocate nothing except when the
+// array doubles, or halves once it is only a quarter full.
+public class SStack<Item> implements Iterable<Item> {
+    private static final int MIN_CAPACITY = 8;
 
-        Node(Item item) {
-            this.item = item;
-            next = null;
-        }
-    }
-
-    Node head;
+    private Item[] items;
+    private int size;
+    private int modCount;  // structural changes, for fail-fast iteration
 
+    // construct an empty stack
     public SStack() {
-        head = null;
+        items = newArray(MIN_CAPACITY);
     }
 
+    // construct a stack holding just the given item
     public SStack(Item item) {
-        head = new Node(item);
+        this();
+        push(item);
+    }
+
+    // is the stack empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the number of items on the stack
+    public int size() {
+        return size;
     }
 
+    // add the item to the top
     public void push(Item item) {
-        Node newNode = new Node(item);
-        if (head != null) {
-            newNode.next = head;
+        if (size == items.length) resize(2 * items.length);
+        items[size++] = item;
+        modCount++;
+    }
+
+    // push every item in iteration order, so the last one ends up on top
+    public void pushAll(Iterable<? extends Item> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        for (Item item : items) {
+            push(item);
         }
-        head = newNode;
     }
 
+    // remove and return the item on top
     public Item pop() {
-        if (head == null) {
-            return null;
+        if (isEmpty()) throw new NoSuchElementException("Stack is empty");
+        Item item = items[--size];
+        items[size] = null;  // avoid loitering
+        modCount++;
+        if (items.length > MIN_CAPACITY && size == items.length / 4) {
+            resize(items.length / 2);
         }
-        Item item = head.item;
-        head = head.next;
         return item;
     }
 
+    // return the item on top without removing it
+    public Item peek() {
+        if (isEmpty()) throw new NoSuchElementException("Stack is empty");
+        return items[size - 1];
+    }
+
+    // move the items to an array of the given capacity
+    private void resize(int capacity) {
+        Item[] copy = newArray(capacity);
+        System.arraycopy(items, 0, copy, 0, size);
+        items = copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] newArray(int capacity) {
+        return (Item[]) new Object[capacity];
+    }
 
+    private class StackIterator implements Iterator<Item> {
+        private int index = size;
+        private final int expectedModCount = modCount;
 
+        @Override
+        public boolean hasNext() {
+            return index > 0;
+        }
+
+        @Override
+        public Item next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException("No more elements");
+            return items[--index];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported");
+        }
+    }
+
+    // iterator over the items from top to bottom
+    public Iterator<Item> iterator() {
+        return new StackIterator();
+    }
+
+    // Unit testing
+    public static void main(String[] args) {
+        SStack<String> stack = new SStack<>("to");
+        stack.pushAll(List.of("be", "or", "not"));
+        System.out.println("size(): " + stack.size());
+        System.out.println("peek(): " + stack.peek());
+        for (String item : stack) System.out.println(item);
+        System.out.println("pop(): " + stack.pop());
+        System.out.println("pop(): " + stack.pop());
+        System.out.println("size(): " + stack.size());
+
+        try {
+            for (String item : stack) stack.push(item);
+            System.out.println("ERROR: iterator should have failed fast");
+        } catch (ConcurrentModificationException e) {
+            System.out.println("Successfully caught ConcurrentModificationException");
+        }
+
+        while (!stack.isEmpty()) stack.pop();
+        try {
+            stack.pop();
+            System.out.println("ERROR: pop() should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            System.out.println("Successfully caught exception for pop() on empty stack");
+        }
+    }
 }
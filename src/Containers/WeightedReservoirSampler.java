@@ -0,0 +1,108 @@
+package Containers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Weighted random sample of k items from a stream of unknown length in O(k) memory:
+// items are drawn one after another without replacement, each time with probability
+// proportional to weight (Efraimidis-Spirakis). Each item gets the key E / weight
+// with E exponentially distributed and the k smallest keys are kept; as in
+// ReservoirSampler the random generator is only used when an item gets in, by
+// drawing how much weight passes before the next one does (exponential jumps).
+//
+// Samplers over disjoint parts of a stream can be merged exactly, see split() and merge().
+public class WeightedReservoirSampler<Item> {
+    private final KeyedReservoir<Item> reservoir;
+    private final SplittableRandom random;
+    private long count;        // items seen
+    private double remaining;  // weight to pass over before the next item gets in
+
+    // sample k items using a randomly seeded generator
+    public WeightedReservoirSampler(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    // sample k items; the sample only depends on the seed and the items offered
+    public WeightedReservoirSampler(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private WeightedReservoirSampler(int k, SplittableRandom random) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        this.reservoir = new KeyedReservoir<>(k);
+        this.random = random;
+        if (k == 0) drawJump();
+    }
+
+    // an empty sampler with the same sample size and an independent generator,
+    // for sampling another part of the stream in parallel
+    public WeightedReservoirSampler<Item> split() {
+        return new WeightedReservoirSampler<>(reservoir.capacity(), random.split());
+    }
+
+    // offer the next item of the stream with a positive, finite weight
+    public void offer(Item item, double weight) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot offer null item");
+        }
+        if (!(weight > 0.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be positive and finite");
+        }
+        count++;
+
+        if (!reservoir.isFull()) {
+            reservoir.add(exponential() / weight, item);
+            if (reservoir.isFull()) drawJump();
+            return;
+        }
+        remaining -= weight;
+        if (remaining > 0) {
+            return;
+        }
+
+        // This item's key is known to be below the bar t: draw E from the exponential
+        // distribution truncated to [0, weight * t)
+        double bar = reservoir.maxKey();
+        double e = -Math.log1p(random.nextDouble() * Math.expm1(-weight * bar));
+        reservoir.add(e / weight, item);
+        drawJump();
+    }
+
+    // fold in the sample of a disjoint part of the stream, taken with the same sample size
+    public void merge(WeightedReservoirSampler<Item> other) {
+        if (other.reservoir.capacity() != reservoir.capacity()) {
+            throw new IllegalArgumentException("Cannot merge samplers with different sample sizes");
+        }
+        reservoir.addAll(other.reservoir);
+        count += other.count;
+        // The weight until the next item gets in is memoryless, so it can be redrawn
+        if (reservoir.isFull()) drawJump();
+    }
+
+    // number of items seen so far
+    public long count() {
+        return count;
+    }
+
+    // the sample, min(k, count()) items in random order
+    public List<Item> sample() {
+        List<Item> sample = reservoir.items();
+        for (int i = sample.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            sample.set(i, sample.set(j, sample.get(i)));
+        }
+        return sample;
+    }
+
+    // an item of weight w gets in with probability 1 - exp(-w * bar), so the weight
+    // passed over before the next one does is exponential with rate bar
+    private void drawJump() {
+        remaining = reservoir.size() == 0 ? Double.POSITIVE_INFINITY : exponential() / reservoir.maxKey();
+    }
+
+    private double exponential() {
+        return -Math.log(1.0 - random.nextDouble());
+    }
+}
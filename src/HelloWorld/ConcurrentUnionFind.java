@@ -0,0 +1,174 @@
+package HelloWorld;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free union-find over the sites 0 .. n - 1 that any number of threads can use
+// at once. Every parent pointer lives in an AtomicIntegerArray and only ever changes
+// by compare-and-set:
+//  - union links the root of lower priority under the other, where priorities are a
+//    random permutation of the sites fixed at construction (randomized linking), so
+//    trees stay shallow in expectation whatever order the unions arrive in;
+//  - find shortens paths by splitting, pointing each site at its grandparent, which
+//    needs one CAS per step and is safe to race with other finds and unions;
+//  - connected is linearizable: it only answers false once it has seen the first
+//    root still being a root after finding the second.
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;  // roots point at themselves
+    private final int priorityKey;            // picks the random priority permutation
+    private final LongAdder merges = new LongAdder();
+
+    // initialise n sites, each in its own component, with random priorities
+    public ConcurrentUnionFind(int n) {
+        this(n, new SplittableRandom().nextLong());
+    }
+
+    // initialise n sites, each in its own component, with priorities drawn from the seed
+    public ConcurrentUnionFind(int n, long seed) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of sites cannot be negative");
+        }
+        // Filling a plain array and copying it avoids a volatile write per site
+        int[] roots = new int[n];
+        for (int i = 0; i < n; i++) {
+            roots[i] = i;
+        }
+        parent = new AtomicIntegerArray(roots);
+        priorityKey = new SplittableRandom(seed).nextInt();
+    }
+
+    // number of sites
+    public int size() {
+        return parent.length();
+    }
+
+    // number of components; exact only while no other thread is calling union
+    public int count() {
+        return (int) (parent.length() - merges.sum());
+    }
+
+    // return the root of the component containing site p
+    public int find(int p) {
+        validate(p);
+        return root(p);
+    }
+
+    // are sites p and q in the same component?
+    public boolean connected(int p, int q) {
+        validate(p);
+        validate(q);
+        while (true) {
+            int rootP = root(p);
+            int rootQ = root(q);
+            if (rootP == rootQ) return true;
+            // rootQ was found after rootP; if rootP is still a root they were apart
+            // at that moment, otherwise a union got in between and we look again
+            if (parent.get(rootP) == rootP) return false;
+        }
+    }
+
+    // merge the components containing p and q; returns false if they were already one
+    public boolean union(int p, int q) {
+        validate(p);
+        validate(q);
+        while (true) {
+            int rootP = root(p);
+            int rootQ = root(q);
+            if (rootP == rootQ) return false;
+
+            // Link the lower priority root under the higher; the CAS fails if rootP
+            // stopped being a root since we found it
+            if (priority(rootP) > priority(rootQ)) {
+                int swap = rootP;
+                rootP = rootQ;
+                rootQ = swap;
+            }
+            if (parent.compareAndSet(rootP, rootP, rootQ)) {
+                merges.increment();
+                return true;
+            }
+        }
+    }
+
+    // find the root of an already validated site, splitting the path on the way
+    private int root(int p) {
+        while (true) {
+            int up = parent.get(p);
+            if (up == p) return p;
+            int grandparent = parent.get(up);
+            if (grandparent != up) {
+                // Another thread may have moved p first; either way p points closer
+                // to the root afterwards
+                parent.compareAndSet(p, up, grandparent);
+            }
+            p = up;
+        }
+    }
+
+    // a bijection on int, so no two sites ever share a priority
+    private int priority(int site) {
+        int h = (site ^ priorityKey) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void validate(int p) {
+        if (p < 0 || p >= parent.length()) {
+            throw new IllegalArgumentException("Site " + p + " is not between 0 and " + (parent.length() - 1));
+        }
+    }
+
+    // unit testing: threads union disjoint slices of a random graph while others
+    // query it; the final components must match a sequential UnionFind
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== ConcurrentUnionFind Unit Testing ===");
+
+        int n = 100_000;
+        int edges = 80_000;
+        int threads = 8;
+        SplittableRandom random = new SplittableRandom(7);
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        UnionFind reference = new UnionFind(n);
+        for (int e = 0; e < edges; e++) {
+            from[e] = random.nextInt(n);
+            to[e] = random.nextInt(n);
+            reference.union(from[e], to[e]);
+        }
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n, 42);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int lo = (int) ((long) edges * t / threads);
+            int hi = (int) ((long) edges * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                for (int e = lo; e < hi; e++) {
+                    uf.union(from[e], to[e]);
+                    // Once unioned by this thread, an edge must stay connected
+                    if (!uf.connected(to[e], from[e])) {
+                        throw new IllegalStateException("Edge " + e + " lost its union");
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        boolean agree = uf.count() == reference.count();
+        for (int i = 0; i < n - 1 && agree; i++) {
+            agree = uf.connected(i, i + 1) == reference.connected(i, i + 1)
+                    && uf.connected(i, from[i % edges]) == reference.connected(i, from[i % edges]);
+        }
+        System.out.println("\n1. " + threads + " threads agree with sequential UnionFind: " + agree
+                + " (count = " + uf.count() + ")");
+
+        try {
+            uf.union(0, n);
+            System.out.println("   ERROR: union() should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("   Successfully caught exception for union() out of bounds");
+        }
+
+        System.out.println("\n=== End of Unit Testing ===");
+    }
+}
@@ -0,0 +1,96 @@
+package HelloWorld;
+
+import Concurrency.ParallelTasks;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+// Connected components of an undirected graph given as an edge list, computed by
+// splitting the edges into contiguous chunks and unioning each chunk on its own
+// thread into one shared ConcurrentUnionFind.
+public class ParallelConnectedComponents {
+
+    private ParallelConnectedComponents() {
+    }
+
+    // union every edge (from[e], to[e]) of a graph on the given number of vertices
+    public static ConcurrentUnionFind components(int vertices, int[] from, int[] to, int threads) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Edge arrays cannot be null");
+        }
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(vertices);
+        int edges = from.length;
+        int workers = Math.max(1, Math.min(threads, edges));
+        List<Callable<Void>> chunks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int lo = (int) ((long) edges * w / workers);
+            int hi = (int) ((long) edges * (w + 1) / workers);
+            chunks.add(() -> {
+                for (int e = lo; e < hi; e++) {
+                    uf.union(from[e], to[e]);
+                }
+                return null;
+            });
+        }
+
+        ParallelTasks.invokeAll(chunks);
+        return uf;
+    }
+
+    // time a random graph with 1 .. maxThreads threads against a sequential UnionFind
+    public static void main(String[] args) {
+        if (args.length > 3) {
+            throw new IllegalArgumentException(
+                    "Usage: java HelloWorld.ParallelConnectedComponents [vertices] [edges] [maxThreads]");
+        }
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            from[e] = random.nextInt(vertices);
+            to[e] = random.nextInt(vertices);
+        }
+
+        // Warm both paths up before timing
+        for (int round = 0; round < 3; round++) {
+            sequential(vertices, from, to);
+            components(vertices, from, to, maxThreads);
+        }
+
+        long start = System.nanoTime();
+        int expected = sequential(vertices, from, to);
+        double baseline = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%d vertices, %d edges, %d components%n", vertices, edges, expected);
+        System.out.printf("sequential UnionFind: %8.1f ms%n", baseline);
+
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            start = System.nanoTime();
+            int count = components(vertices, from, to, threads).count();
+            double elapsed = (System.nanoTime() - start) / 1e6;
+            if (threads == 1) single = elapsed;
+            System.out.printf("%2d threads:          %8.1f ms  speedup %.2f  %s%n",
+                    threads, elapsed, single / elapsed, count == expected ? "ok" : "WRONG COUNT " + count);
+        }
+    }
+
+    private static int sequential(int vertices, int[] from, int[] to) {
+        UnionFind uf = new UnionFind(vertices);
+        for (int e = 0; e < from.length; e++) {
+            uf.union(from[e], to[e]);
+        }
+        return uf.count();
+    }
+}
@@ -1,22 +1,35 @@
 package HelloWorld;
 
-import edu.princeton.cs.algs4.StdIn;
+import Containers.ReservoirSampler;
+import IO.Token;
+import IO.TokenReader;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.StdRandom;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class RandomWord {
-    public static void main(String[] args) {
-        String champion = null;
-        int i = 1;
+    // print a word chosen uniformly at random from the input file, or standard input
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1) {
+            throw new IllegalArgumentException("Usage: java HelloWorld.RandomWord [input file]");
+        }
+
+        // A one-item reservoir keeps each word with probability 1/i, like the
+        // classic champion loop, but only draws a random number when it changes
+        ReservoirSampler<String> sampler = new ReservoirSampler<>(1);
 
-        while (!StdIn.isEmpty()) {
-            String word = StdIn.readString();
-            if (StdRandom.bernoulli(1.0 / i)) {
-                champion = word;
+        try (TokenReader in = args.length == 1 ? TokenReader.open(Paths.get(args[0])) : TokenReader.stdin()) {
+            for (Token token = in.next(); token != null; token = in.next()) {
+                // Only words that become the champion are ever decoded
+                if (sampler.skippable() > 0) {
+                    sampler.skip(1);
+                } else {
+                    sampler.offer(token.toString());
+                }
             }
-            i++;
         }
 
+        String champion = sampler.count() == 0 ? null : sampler.sample().get(0);
         StdOut.println(champion);
     }
 }
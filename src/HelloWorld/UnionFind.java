@@ -1,10 +1,222 @@
 package HelloWorld;
 
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+import java.util.Arrays;
+
+// Union-find over the sites 0 .. size() - 1, backed by primitive arrays only.
+// Trees are linked by size or by rank and paths are shortened on every find by
+// full compression or by halving; any combination gives near-constant amortised
+// operations. New sites can be added at any time with addSite().
 public class UnionFind {
-    int[] elms;
 
-    UnionFind(int n) {
-        elms = new int[n];
+    // how to choose the root when two trees are linked
+    public enum Linking {
+        SIZE,  // the root of the larger tree wins
+        RANK   // the root of the taller tree (by upper bound on height) wins
+    }
+
+    // how find shortens the path it walks
+    public enum Compression {
+        FULL,    // a second pass points every site on the path at the root
+        HALVING  // one pass points every other site at its grandparent
     }
 
+    private static final int MIN_CAPACITY = 8;
+
+    private final boolean byRank;
+    private final boolean halving;
+    private int[] parent;  // parent[i] = parent of site i; roots point at themselves
+    private int[] size;    // size[i] = number of sites in the tree rooted at i, when linking by size
+    private byte[] rank;   // rank[i] = upper bound on the height of the tree rooted at i, when linking by rank
+    private int sites;     // number of sites
+    private int count;     // number of components
+
+    // initialise n sites, each in its own component, linked by size with full compression
+    public UnionFind(int n) {
+        this(n, Linking.SIZE, Compression.FULL);
+    }
+
+    // initialise n sites, each in its own component, with the given strategies
+    public UnionFind(int n, Linking linking, Compression compression) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of sites cannot be negative");
+        }
+        if (linking == null || compression == null) {
+            throw new IllegalArgumentException("Strategies cannot be null");
+        }
+        this.byRank = linking == Linking.RANK;
+        this.halving = compression == Compression.HALVING;
+
+        int capacity = Math.max(n, MIN_CAPACITY);
+        parent = new int[capacity];
+        if (byRank) {
+            rank = new byte[capacity];
+        } else {
+            size = new int[capacity];
+        }
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        if (!byRank) {
+            Arrays.fill(size, 0, n, 1);
+        }
+        sites = n;
+        count = n;
+    }
+
+    // number of sites
+    public int size() {
+        return sites;
+    }
+
+    // number of components
+    public int count() {
+        return count;
+    }
+
+    // add a new site in a component of its own and return its index
+    public int addSite() {
+        if (sites == parent.length) {
+            if (sites == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many sites");
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE, 2L * sites);
+            parent = Arrays.copyOf(parent, capacity);
+            if (byRank) {
+                rank = Arrays.copyOf(rank, capacity);
+            } else {
+                size = Arrays.copyOf(size, capacity);
+            }
+        }
+        int site = sites++;
+        parent[site] = site;
+        if (!byRank) {
+            size[site] = 1;
+        }
+        count++;
+        return site;
+    }
+
+    // return the root of the component containing site p
+    public int find(int p) {
+        validate(p);
+        return root(p);
+    }
+
+    // are sites p and q in the same component?
+    public boolean connected(int p, int q) {
+        validate(p);
+        validate(q);
+        return root(p) == root(q);
+    }
+
+    // merge the components containing p and q; returns false if they were already one
+    public boolean union(int p, int q) {
+        validate(p);
+        validate(q);
+        int rootP = root(p);
+        int rootQ = root(q);
+        if (rootP == rootQ) return false;
+
+        if (byRank) {
+            if (rank[rootP] < rank[rootQ]) {
+                parent[rootP] = rootQ;
+            } else if (rank[rootP] > rank[rootQ]) {
+                parent[rootQ] = rootP;
+            } else {
+                parent[rootQ] = rootP;
+                rank[rootP]++;
+            }
+        } else {
+            if (size[rootP] < size[rootQ]) {
+                parent[rootP] = rootQ;
+                size[rootQ] += size[rootP];
+            } else {
+                parent[rootQ] = rootP;
+                size[rootP] += size[rootQ];
+            }
+        }
+        count--;
+        return true;
+    }
+
+    // find the root of an already validated site, shortening the path on the way
+    private int root(int p) {
+        int[] parent = this.parent;
+        if (halving) {
+            while (parent[p] != p) {
+                parent[p] = parent[parent[p]];
+                p = parent[p];
+            }
+            return p;
+        }
+
+        int root = p;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (p != root) {
+            int next = parent[p];
+            parent[p] = root;
+            p = next;
+        }
+        return root;
+    }
+
+    private void validate(int p) {
+        if (p < 0 || p >= sites) {
+            throw new IllegalArgumentException("Site " + p + " is not between 0 and " + (sites - 1));
+        }
+    }
+
+    // unit testing: every strategy must agree with algs4 on the same random operations
+    public static void main(String[] args) {
+        System.out.println("=== UnionFind Unit Testing ===");
+
+        int n = 2000;
+        int operations = 200_000;
+        int test = 1;
+        for (Linking linking : Linking.values()) {
+            for (Compression compression : Compression.values()) {
+                UnionFind uf = new UnionFind(n, linking, compression);
+                WeightedQuickUnionUF reference = new WeightedQuickUnionUF(n);
+                boolean agree = true;
+                for (int i = 0; i < operations && agree; i++) {
+                    int p = StdRandom.uniformInt(n);
+                    int q = StdRandom.uniformInt(n);
+                    if (StdRandom.bernoulli(0.3)) {
+                        boolean merged = uf.union(p, q);
+                        agree = merged == (reference.find(p) != reference.find(q));
+                        reference.union(p, q);
+                    } else {
+                        agree = uf.connected(p, q) == (reference.find(p) == reference.find(q));
+                    }
+                    agree &= uf.count() == reference.count();
+                }
+                System.out.println("\n" + test++ + ". " + linking + " + " + compression
+                        + " agrees with WeightedQuickUnionUF: " + agree);
+            }
+        }
+
+        // Growing from nothing keeps existing components intact
+        UnionFind growing = new UnionFind(0, Linking.RANK, Compression.HALVING);
+        for (int i = 0; i < 100; i++) {
+            int site = growing.addSite();
+            if (site > 0 && site % 10 != 0) growing.union(site - 1, site);
+        }
+        System.out.println("\n" + test++ + ". addSite(): size = " + growing.size()
+                + ", count = " + growing.count() + " (expected 100, 10)"
+                + ", connected(10, 19) = " + growing.connected(10, 19)
+                + ", connected(9, 10) = " + growing.connected(9, 10));
+
+        try {
+            growing.find(100);
+            System.out.println("   ERROR: find() should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("   Successfully caught exception for find() out of bounds");
+        }
+
+        System.out.println("\n=== End of Unit Testing ===");
+    }
 }
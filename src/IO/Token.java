@@ -0,0 +1,99 @@
+package IO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// A whitespace-delimited token as a slice of a TokenReader's buffer. The reader
+// hands out the same Token object every time, and its contents are only valid
+// until the next call to TokenReader.next(); no String is created unless
+// toString() is called.
+public final class Token {
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+    private byte[] scratch = new byte[64];  // reused when decoding to a String
+
+    Token() {
+    }
+
+    void set(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    // number of bytes in the token
+    public int length() {
+        return length;
+    }
+
+    // the i-th byte of the token
+    public byte byteAt(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + length);
+        }
+        return buffer.get(offset + i);
+    }
+
+    // does the token consist of exactly the characters of the given ASCII string?
+    public boolean contentEquals(String ascii) {
+        if (ascii.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // parse the token as a decimal int without creating a String
+    public int parseInt() {
+        long value = parseLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + this);
+        }
+        return (int) value;
+    }
+
+    // parse the token as a decimal long without creating a String
+    public long parseLong() {
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (buffer.get(offset) == '-' || buffer.get(offset) == '+')) {
+            negative = buffer.get(offset) == '-';
+            i++;
+        }
+        if (i == length) {
+            throw new NumberFormatException("Not a number: " + this);
+        }
+
+        // Accumulate negatively so that Long.MIN_VALUE parses too
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = buffer.get(offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number: " + this);
+            }
+            if (value < (limit + digit) / 10) {
+                throw new NumberFormatException("Value out of long range: " + this);
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+
+    // the token decoded as UTF-8
+    @Override
+    public String toString() {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, 2 * scratch.length)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(offset + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,220 @@
+package Percolation;
+
+import java.util.Arrays;
+
+// A finite lattice for percolation: sites 0 .. sites() - 1, each with the same number
+// of neighbour slots, laid out so that percolation runs from the first layer of
+// layerSize() sites (the top) to the last one (the bottom). Neighbours are computed
+// once into a flat table, so the engines visit them with a plain loop and no
+// boundary tests: neighbour k of site p is neighbours()[p * degree() + k], or -1
+// where the boundary leaves that slot empty.
+//
+// Periodic lattices wrap around in every direction except top to bottom.
+public final class Lattice {
+    private final String name;
+    private final int sites;
+    private final int degree;
+    private final int layerSize;
+    private final int[] neighbours;
+    private int[] bonds;  // computed on first use
+
+    private Lattice(String name, int sites, int degree, int layerSize, int[] neighbours) {
+        this.name = name;
+        this.sites = sites;
+        this.degree = degree;
+        this.layerSize = layerSize;
+        this.neighbours = neighbours;
+    }
+
+    // n-by-n square lattice, four neighbours per site, as used by Percolation
+    public static Lattice square(int n) {
+        return square(n, false);
+    }
+
+    // n-by-n square lattice, optionally wrapping left to right
+    public static Lattice square(int n, boolean periodic) {
+        validate(n, 2, 4, periodic);
+        int[] table = new int[n * n * 4];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                int slot = (row * n + col) * 4;
+                table[slot] = row > 0 ? (row - 1) * n + col : -1;
+                table[slot + 1] = row < n - 1 ? (row + 1) * n + col : -1;
+                table[slot + 2] = column(n, row, col - 1, periodic);
+                table[slot + 3] = column(n, row, col + 1, periodic);
+            }
+        }
+        return new Lattice(name("square", n, 2, periodic), n * n, 4, n, table);
+    }
+
+    // n-by-n-by-n simple cubic lattice, six neighbours per site
+    public static Lattice cubic(int n) {
+        return cubic(n, false);
+    }
+
+    // n-by-n-by-n simple cubic lattice, optionally wrapping in both horizontal directions
+    public static Lattice cubic(int n, boolean periodic) {
+        validate(n, 3, 6, periodic);
+        int layer = n * n;
+        int[] table = new int[layer * n * 6];
+        for (int z = 0; z < n; z++) {
+            for (int row = 0; row < n; row++) {
+                int up = wrap(n, row - 1, periodic);
+                int down = wrap(n, row + 1, periodic);
+                for (int col = 0; col < n; col++) {
+                    int left = wrap(n, col - 1, periodic);
+                    int right = wrap(n, col + 1, periodic);
+                    int base = z * layer;
+                    int site = base + row * n + col;
+                    int slot = site * 6;
+                    table[slot] = z > 0 ? site - layer : -1;
+                    table[slot + 1] = z < n - 1 ? site + layer : -1;
+                    table[slot + 2] = up < 0 ? -1 : base + up * n + col;
+                    table[slot + 3] = down < 0 ? -1 : base + down * n + col;
+                    table[slot + 4] = left < 0 ? -1 : base + row * n + left;
+                    table[slot + 5] = right < 0 ? -1 : base + row * n + right;
+                }
+            }
+        }
+        return new Lattice(name("cubic", n, 3, periodic), layer * n, 6, layer, table);
+    }
+
+    // n-by-n triangular lattice, six neighbours per site: the square lattice plus the
+    // diagonal from each site's upper right to its lower left
+    public static Lattice triangular(int n) {
+        return triangular(n, false);
+    }
+
+    // n-by-n triangular lattice, optionally wrapping left to right
+    public static Lattice triangular(int n, boolean periodic) {
+        validate(n, 2, 6, periodic);
+        int[] table = new int[n * n * 6];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                int slot = (row * n + col) * 6;
+                table[slot] = row > 0 ? (row - 1) * n + col : -1;
+                table[slot + 1] = row < n - 1 ? (row + 1) * n + col : -1;
+                table[slot + 2] = column(n, row, col - 1, periodic);
+                table[slot + 3] = column(n, row, col + 1, periodic);
+                table[slot + 4] = row > 0 ? column(n, row - 1, col + 1, periodic) : -1;
+                table[slot + 5] = row < n - 1 ? column(n, row + 1, col - 1, periodic) : -1;
+            }
+        }
+        return new Lattice(name("triangular", n, 2, periodic), n * n, 6, n, table);
+    }
+
+    // n-by-n hexagonal (honeycomb) lattice drawn as a brick wall, three neighbours per
+    // site: left, right, and the site below when row + col is even or above when odd
+    public static Lattice hexagonal(int n) {
+        return hexagonal(n, false);
+    }
+
+    // n-by-n hexagonal lattice, optionally wrapping left to right; wrapping needs an
+    // even n so that the bricks line up across the seam
+    public static Lattice hexagonal(int n, boolean periodic) {
+        validate(n, 2, 3, periodic);
+        if (periodic && n % 2 != 0) {
+            throw new IllegalArgumentException("Periodic hexagonal lattice needs an even size");
+        }
+        int[] table = new int[n * n * 3];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                int slot = (row * n + col) * 3;
+                table[slot] = column(n, row, col - 1, periodic);
+                table[slot + 1] = column(n, row, col + 1, periodic);
+                if ((row + col) % 2 == 0) {
+                    table[slot + 2] = row < n - 1 ? (row + 1) * n + col : -1;
+                } else {
+                    table[slot + 2] = row > 0 ? (row - 1) * n + col : -1;
+                }
+            }
+        }
+        return new Lattice(name("hexagonal", n, 2, periodic), n * n, 3, n, table);
+    }
+
+    // site (row, col) of an n-wide layer, wrapping col if periodic, or -1 off the edge
+    private static int column(int n, int row, int col, boolean periodic) {
+        col = wrap(n, col, periodic);
+        return col < 0 ? -1 : row * n + col;
+    }
+
+    // the coordinate wrapped into 0 .. n - 1 if periodic, or -1 when it is off the edge
+    private static int wrap(int n, int coordinate, boolean periodic) {
+        if (coordinate >= 0 && coordinate < n) return coordinate;
+        if (!periodic) return -1;
+        return coordinate < 0 ? coordinate + n : coordinate - n;
+    }
+
+    private static void validate(int n, int dimensions, int degree, boolean periodic) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Lattice size must be greater than 0");
+        }
+        // The neighbour table holds degree ints per site
+        if (Math.pow(n, dimensions) * degree > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Lattice size " + n + " is too large");
+        }
+        // With fewer than three sites across, wrapping would make a site its own
+        // neighbour or list the same neighbour twice
+        if (periodic && n < 3) {
+            throw new IllegalArgumentException("Periodic lattices need a size of at least 3");
+        }
+    }
+
+    private static String name(String kind, int n, int dimensions, boolean periodic) {
+        String size = dimensions == 2 ? n + "x" + n : n + "x" + n + "x" + n;
+        return (periodic ? "periodic " : "") + kind + " " + size;
+    }
+
+    // number of sites
+    public int sites() {
+        return sites;
+    }
+
+    // number of neighbour slots per site
+    public int degree() {
+        return degree;
+    }
+
+    // number of sites in the top layer, sites 0 .. layerSize() - 1; the bottom layer is
+    // the last layerSize() sites
+    public int layerSize() {
+        return layerSize;
+    }
+
+    // the neighbour table, degree() slots per site with -1 for empty slots; shared, so
+    // it must not be modified
+    int[] neighbours() {
+        return neighbours;
+    }
+
+    // number of bonds, each joining two neighbouring sites once
+    public int bondCount() {
+        return bonds().length / 2;
+    }
+
+    // the bonds as a flat array of site pairs: bond b joins sites [2b] and [2b + 1];
+    // shared, so it must not be modified
+    synchronized int[] bonds() {
+        if (bonds == null) {
+            int[] pairs = new int[neighbours.length];
+            int count = 0;
+            for (int p = 0; p < sites; p++) {
+                for (int slot = p * degree; slot < (p + 1) * degree; slot++) {
+                    int q = neighbours[slot];
+                    // Every bond appears once from each end; keep it from the lower one
+                    if (q > p) {
+                        pairs[count++] = p;
+                        pairs[count++] = q;
+                    }
+                }
+            }
+            bonds = Arrays.copyOf(pairs, count);
+        }
+        return bonds;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,276 @@
+package Percolation;
+
+import edu.princeton.cs.algs4.StdOut;
+
+// Site or bond percolation on any Lattice, with the same union-find as Percolation:
+// roots store their negated component size and carry TOP and BOTTOM bits. Neighbours
+// come from the lattice's flat table, so opening a site is one loop over degree()
+// slots whatever the lattice.
+//  - In site percolation sites start blocked and open one by one; neighbouring open
+//    sites are joined.
+//  - In bond percolation every site is open from the start and bonds open one by
+//    one; an open bond joins its two sites.
+public class LatticePercolation {
+    // What opens during a trial
+    public enum Kind {
+        SITE,
+        BOND
+    }
+
+    // Bits of a site's state; TOP and BOTTOM are only maintained on union-find roots
+    private static final byte OPEN = 1;
+    private static final byte TOP = 2;     // component touches the top layer
+    private static final byte BOTTOM = 4;  // component touches the bottom layer
+
+    private final Lattice lattice;
+    private final Kind kind;
+    private final int[] neighbours;  // the lattice's table
+    private final int degree;
+    private final int layerSize;     // sites in the top layer, and in the bottom one
+    private final int[] bonds;       // the lattice's bond pairs, in bond mode
+    private final byte[] state;      // per site
+    private final byte[] bondOpen;   // per bond, in bond mode
+    // Union-find forest over sites: parent[p] >= 0 links p to its parent, while a root
+    // stores the negated size of its component
+    private final int[] parent;
+    // Sites or bonds in the order they were opened, so reset() only touches those
+    private final int[] opened;
+    private int openCount;
+    private boolean percolates;
+
+    // creates a lattice with nothing open: all sites blocked for SITE, all bonds for BOND
+    public LatticePercolation(Lattice lattice, Kind kind) {
+        if (lattice == null || kind == null) {
+            throw new IllegalArgumentException("Lattice and kind cannot be null");
+        }
+        this.lattice = lattice;
+        this.kind = kind;
+        this.neighbours = lattice.neighbours();
+        this.degree = lattice.degree();
+        this.layerSize = lattice.layerSize();
+        int sites = lattice.sites();
+        state = new byte[sites];
+        parent = new int[sites];
+        if (kind == Kind.BOND) {
+            bonds = lattice.bonds();
+            bondOpen = new byte[bonds.length / 2];
+            opened = new int[bondOpen.length];
+            for (int site = 0; site < sites; site++) {
+                state[site] = openFlags(site);
+                parent[site] = -1;
+            }
+            // A single-layer lattice is spanned by every site on its own
+            percolates = layerSize == sites;
+        } else {
+            bonds = null;
+            bondOpen = null;
+            opened = new int[sites];
+        }
+    }
+
+    // the lattice this engine runs on
+    public Lattice lattice() {
+        return lattice;
+    }
+
+    // whether sites or bonds open
+    public Kind kind() {
+        return kind;
+    }
+
+    // number of sites (SITE) or bonds (BOND) that can be opened
+    public int size() {
+        return opened.length;
+    }
+
+    // opens the site if it is not open already; SITE percolation only
+    public void openSite(int site) {
+        if (kind != Kind.SITE) {
+            throw new IllegalStateException("Sites are always open in bond percolation");
+        }
+        validate(site, state.length);
+        openSiteAt(site);
+    }
+
+    // opens the bond if it is not open already; BOND percolation only
+    public void openBond(int bond) {
+        if (kind != Kind.BOND) {
+            throw new IllegalStateException("There are no bonds to open in site percolation");
+        }
+        validate(bond, bondOpen.length);
+        openBondAt(bond);
+    }
+
+    // opens site or bond number i, whichever this engine opens; used by the trial engine
+    void openElement(int i) {
+        if (bondOpen != null) {
+            openBondAt(i);
+        } else {
+            openSiteAt(i);
+        }
+    }
+
+    private void openSiteAt(int site) {
+        if ((state[site] & OPEN) != 0) return;
+        state[site] = openFlags(site);
+        parent[site] = -1;
+        opened[openCount++] = site;
+
+        // Join every open neighbour; empty slots hold -1
+        int root = site;
+        for (int slot = site * degree, end = slot + degree; slot < end; slot++) {
+            int adjacent = neighbours[slot];
+            if (adjacent >= 0 && (state[adjacent] & OPEN) != 0) {
+                root = union(root, find(adjacent));
+            }
+        }
+        if ((state[root] & (TOP | BOTTOM)) == (TOP | BOTTOM)) {
+            percolates = true;
+        }
+    }
+
+    private void openBondAt(int bond) {
+        if (bondOpen[bond] != 0) return;
+        bondOpen[bond] = 1;
+        opened[openCount++] = bond;
+
+        int root = union(find(bonds[2 * bond]), find(bonds[2 * bond + 1]));
+        if ((state[root] & (TOP | BOTTOM)) == (TOP | BOTTOM)) {
+            percolates = true;
+        }
+    }
+
+    // the state of a freshly opened site: OPEN plus its boundary bits
+    private byte openFlags(int site) {
+        byte flags = OPEN;
+        if (site < layerSize) flags |= TOP;
+        if (site >= state.length - layerSize) flags |= BOTTOM;
+        return flags;
+    }
+
+    // Closes everything again so the engine can be reused for another trial, in
+    // O(sites or bonds opened since the last reset)
+    public void reset() {
+        if (bondOpen == null) {
+            for (int i = 0; i < openCount; i++) {
+                state[opened[i]] = 0;
+            }
+        } else {
+            // Only the two ends of an open bond can have been linked or compressed
+            for (int i = 0; i < openCount; i++) {
+                int bond = opened[i];
+                bondOpen[bond] = 0;
+                for (int end = 2 * bond; end <= 2 * bond + 1; end++) {
+                    int site = bonds[end];
+                    state[site] = openFlags(site);
+                    parent[site] = -1;
+                }
+            }
+        }
+        openCount = 0;
+        percolates = bondOpen != null && layerSize == state.length;
+    }
+
+    // Link two roots by size and return the surviving root
+    private int union(int rootA, int rootB) {
+        if (rootA == rootB) {
+            return rootA;
+        }
+        // Sizes are stored negated, so the larger component has the smaller value
+        if (parent[rootA] > parent[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootA] += parent[rootB];
+        parent[rootB] = rootA;
+        state[rootA] |= state[rootB] & (TOP | BOTTOM);
+        return rootA;
+    }
+
+    // Find the root of an open site, compressing the path behind it
+    private int find(int site) {
+        int root = site;
+        while (parent[root] >= 0) {
+            root = parent[root];
+        }
+        while (site != root) {
+            int next = parent[site];
+            parent[site] = root;
+            site = next;
+        }
+        return root;
+    }
+
+    private static void validate(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Index " + index + " is not between 0 and " + (count - 1));
+        }
+    }
+
+    // is the site open?
+    public boolean isOpen(int site) {
+        validate(site, state.length);
+        return (state[site] & OPEN) != 0;
+    }
+
+    // is the bond open? BOND percolation only
+    public boolean isBondOpen(int bond) {
+        if (kind != Kind.BOND) {
+            throw new IllegalStateException("There are no bonds in site percolation");
+        }
+        validate(bond, bondOpen.length);
+        return bondOpen[bond] != 0;
+    }
+
+    // is the site connected to the top layer through open sites and bonds?
+    public boolean isFull(int site) {
+        validate(site, state.length);
+        if ((state[site] & OPEN) == 0) return false;
+        return (state[find(site)] & TOP) != 0;
+    }
+
+    // number of open sites (SITE) or open bonds (BOND)
+    public int numberOfOpenElements() {
+        return openCount;
+    }
+
+    // does the lattice percolate from the top layer to the bottom layer?
+    public boolean percolates() {
+        return percolates;
+    }
+
+    // test client: estimate the threshold of each lattice in both modes
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        // The square lattice must behave exactly like Percolation
+        Percolation square = new Percolation(3);
+        LatticePercolation lattice = new LatticePercolation(Lattice.square(3), Kind.SITE);
+        int[] order = {1, 3, 4, 5, 8};
+        for (int site : order) {
+            square.open(site / 3 + 1, site % 3 + 1);
+            lattice.openSite(site);
+        }
+        StdOut.println("3x3 square agrees with Percolation: "
+                + (square.percolates() == lattice.percolates() && lattice.isFull(8) && !lattice.isOpen(0)));
+
+        // Infinite-lattice thresholds: site, then bond
+        Object[][] cases = {
+                {Lattice.square(256), 0.592746, 0.5},
+                {Lattice.square(256, true), 0.592746, 0.5},
+                {Lattice.triangular(256), 0.5, 0.347296},
+                {Lattice.hexagonal(256), 0.697043, 0.652704},
+                {Lattice.cubic(48), 0.311608, 0.248812},
+        };
+        for (Object[] test : cases) {
+            Lattice l = (Lattice) test[0];
+            for (Kind kind : Kind.values()) {
+                PercolationStats stats = new PercolationStats(l, kind, trials, 42, threads);
+                StdOut.printf("%-24s %-4s mean = %.4f  (infinite lattice %.4f)%n",
+                        l, kind, stats.mean(), (double) test[kind == Kind.SITE ? 1 : 2]);
+            }
+        }
+    }
+}
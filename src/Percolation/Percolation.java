@@ -1,44 +1,80 @@
 package Percolation;
 
+import Containers.IntStack;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+import java.util.Arrays;
 
 public class Percolation {
-    // Constants for site states
-    private static final boolean OPEN = true;
-    private static final boolean BLOCKED = false;
-
-    // n-by-n grid to track opened/blocked sites
-    private final boolean[][] grid;
-    private final WeightedQuickUnionUF uf;      // For percolation and full check
-    private final WeightedQuickUnionUF ufFull;  // For full check only (to avoid backwash)
-    private int openSites;
+    // Bits of a site's state. TOP and BOTTOM are only maintained on union-find roots,
+    // while FULL is kept on every site of a component connected to the top row, and
+    // only by grids that cache fullness.
+    private static final byte OPEN = 1;
+    private static final byte FULL = 2;    // site is connected to the first row
+    private static final byte BOTTOM = 4;  // component touches the last row
+    private static final byte TOP = 8;     // component touches the first row
+
+    // Largest grid whose sites can be indexed with an int
+    private static final int MAX_N = 46340;
+
     private final int n;              // Grid size
-    private final int virtualTop;     // Virtual top site index
-    private final int virtualBottom;  // Virtual bottom site index
+    private final byte[] state;       // Row-major site states
+    // Whether FULL is kept on every site, making isFull() and fullSites() plain reads;
+    // the trial engines never ask, so their grids skip the flood fill that keeps it
+    private final boolean cacheFull;
+    // Union-find forest over row-major site indices: parent[p] >= 0 links p to its
+    // parent, while a root r stores the negated size of its component
+    private final int[] parent;
+    // Sites in the order they were opened, so reset() only touches those; allocated by
+    // the first reset() so that single-use grids do not pay for it
+    private int[] opened;
+    // Work stack for marking sites full, created by the first fill
+    private IntStack stack;
+    private int openSites;
+    private boolean percolates;
+
+    // Cluster statistics, kept up to date by open() and union() when trackClusters is set
+    private final boolean trackClusters;
+    private int clusterCount;
+    private int largestCluster;
+    private int spanningMass;     // sites in clusters joining the top and bottom rows
+    private final SizeCounts sizeCounts;
 
     // Creates n-by-n grid, with all sites initially blocked
     public Percolation(int n) {
+        this(n, true, false);
+    }
+
+    // Creates n-by-n grid, with all sites initially blocked, that also keeps the cluster
+    // statistics returned by clusters() if trackClusters is set; they make opens slower
+    public Percolation(int n, boolean trackClusters) {
+        this(n, true, trackClusters);
+    }
+
+    private Percolation(int n, boolean cacheFull, boolean trackClusters) {
         if (n <= 0) {
             throw new IllegalArgumentException("Grid size must be greater than 0");
         }
+        if (n > MAX_N) {
+            throw new IllegalArgumentException("Grid size must not exceed " + MAX_N);
+        }
 
         this.n = n;
-        grid = new boolean[n][n];
-
-        // Initialize grid with all sites blocked (false)
-        // No need for Arrays.fill(), just use the default boolean value (false)
-
-        // Initialize Union-Find with n*n sites plus 2 virtual sites
-        int totalSites = n * n + 2;
-        uf = new WeightedQuickUnionUF(totalSites);
-        ufFull = new WeightedQuickUnionUF(totalSites - 1); // No virtual bottom for full check
-
-        virtualTop = n * n;
-        virtualBottom = n * n + 1;
+        this.cacheFull = cacheFull;
+        this.trackClusters = trackClusters;
+        this.sizeCounts = trackClusters ? new SizeCounts() : null;
+        // Zeroed arrays already describe an all-blocked grid; a site becomes
+        // a singleton root (parent -1) when it is opened
+        state = new byte[n * n];
+        parent = new int[n * n];
         openSites = 0;
     }
 
+    // Creates an n-by-n grid for the trial engines, which only ask whether it percolates:
+    // it does not cache fullness, so isFull() costs a find()
+    static Percolation forTrials(int n) {
+        return new Percolation(n, false, false);
+    }
+
     // Convert 2D coordinates to 1D index
     private int convert2DTo1D(int row, int col) {
         return row * n + col;
@@ -49,51 +85,160 @@ public class Percolation {
         validateIndices(row, col);
 
         // Adjust to 0-indexed
-        row--;
-        col--;
+        openAt(row - 1, col - 1);
+    }
 
-        if (grid[row][col] == OPEN) return; // Already open
+    // Opens the site with the given 0-indexed row-major index; used by the trial engines
+    void openSite(int site) {
+        int row = site / n;
+        openAt(row, site - row * n);
+    }
 
-        grid[row][col] = OPEN;
+    // Opens the 0-indexed site (row, col)
+    private void openAt(int row, int col) {
+        int site = convert2DTo1D(row, col);
+        if ((state[site] & OPEN) != 0) return; // Already open
+
+        byte flags = OPEN;
+        if (row == 0) flags |= TOP;
+        if (row == n - 1) flags |= BOTTOM;
+        state[site] = flags;
+        parent[site] = -1;
+        if (opened != null) opened[openSites] = site;
         openSites++;
+        if (trackClusters) {
+            clusterCount++;
+            sizeCounts.add(1, 1);
+            if (largestCluster == 0) largestCluster = 1;
+        }
 
-        int siteIndex = convert2DTo1D(row, col);
+        // Connect to adjacent open sites
+        int root = site;
+        if (row > 0) root = connectIfOpen(root, site - n);         // Up
+        if (row < n - 1) root = connectIfOpen(root, site + n);     // Down
+        if (col > 0) root = connectIfOpen(root, site - 1);         // Left
+        if (col < n - 1) root = connectIfOpen(root, site + 1);     // Right
 
-        // Connect to virtual top if in first row
-        if (row == 0) {
-            uf.union(siteIndex, virtualTop);
-            ufFull.union(siteIndex, virtualTop);
+        if ((state[root] & TOP) != 0) {
+            // A cached component is either entirely full or not full at all, so only
+            // the new site and the components it just joined can need marking
+            if (cacheFull) fill(site);
+            if ((state[root] & BOTTOM) != 0) {
+                percolates = true;
+                if (trackClusters) spanningMass -= parent[root];
+            }
         }
+    }
 
-        // Connect to virtual bottom if in last row
-        if (row == n - 1) {
-            uf.union(siteIndex, virtualBottom);
-            // Don't union with bottom in ufFull to avoid backwash
+    // Mark the open sites reachable from site full, stopping at sites that already are;
+    // every site is marked at most once per trial, so this is amortised O(1) per open
+    private void fill(int site) {
+        if (stack == null) {
+            // A fill's frontier is usually about as long as a row of the grid
+            stack = new IntStack(n);
+        }
+        state[site] |= FULL;
+        stack.push(site);
+        while (!stack.isEmpty()) {
+            int p = stack.pop();
+            int row = p / n;
+            int col = p - row * n;
+            if (row > 0) markFull(p - n);
+            if (row < n - 1) markFull(p + n);
+            if (col > 0) markFull(p - 1);
+            if (col < n - 1) markFull(p + 1);
         }
+    }
 
-        // Connect to adjacent open sites
-        connectIfOpen(row, col, row - 1, col); // Up
-        connectIfOpen(row, col, row + 1, col); // Down
-        connectIfOpen(row, col, row, col - 1); // Left
-        connectIfOpen(row, col, row, col + 1); // Right
+    // Mark an open, not yet full site full and push it onto the fill stack
+    private void markFull(int site) {
+        if ((state[site] & (OPEN | FULL)) == OPEN) {
+            state[site] |= FULL;
+            stack.push(site);
+        }
     }
 
-    // Connect current site to adjacent site if it's open
-    private void connectIfOpen(int row1, int col1, int row2, int col2) {
-        // Check if adjacent site is within bounds
-        if (row2 < 0 || row2 >= n || col2 < 0 || col2 >= n) {
-            return;
+    // Blocks every site again so the grid can be reused for another trial. Once the
+    // grid has been reset it logs the sites it opens, and from then on reset() costs
+    // O(open sites) and allocates nothing.
+    public void reset() {
+        if (opened == null) {
+            Arrays.fill(state, (byte) 0);
+            opened = new int[state.length];
+        } else {
+            for (int i = 0; i < openSites; i++) {
+                state[opened[i]] = 0;
+            }
         }
+        // parent[] entries of blocked sites are never read and open() reinitialises them
+        openSites = 0;
+        percolates = false;
 
-        // Connect if adjacent site is open
-        if (grid[row2][col2] == OPEN) {
-            int site1 = convert2DTo1D(row1, col1);
-            int site2 = convert2DTo1D(row2, col2);
-            uf.union(site1, site2);
-            ufFull.union(site1, site2);
+        if (trackClusters) {
+            sizeCounts.clear();
+            clusterCount = 0;
+            largestCluster = 0;
+            spanningMass = 0;
         }
     }
 
+    // Merge the component rooted at root with the adjacent site's if that site is open,
+    // returning the root of the resulting component
+    private int connectIfOpen(int root, int adjacent) {
+        if ((state[adjacent] & OPEN) == 0) {
+            return root;
+        }
+        int adjacentRoot = find(adjacent);
+        // A spanning neighbour stops being counted on its own; openAt adds the merged
+        // cluster back once it knows whether that spans
+        if (trackClusters && adjacentRoot != root && (state[adjacentRoot] & (TOP | BOTTOM)) == (TOP | BOTTOM)) {
+            spanningMass += parent[adjacentRoot];
+        }
+        return union(root, adjacentRoot);
+    }
+
+    // Link two roots by size and return the surviving root
+    private int union(int rootA, int rootB) {
+        if (rootA == rootB) {
+            return rootA;
+        }
+        // Sizes are stored negated, so the larger component has the smaller value
+        if (parent[rootA] > parent[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        if (trackClusters) countMerge(-parent[rootA], -parent[rootB]);
+        parent[rootA] += parent[rootB];
+        parent[rootB] = rootA;
+        state[rootA] |= state[rootB] & (TOP | BOTTOM);
+        return rootA;
+    }
+
+    // Record that clusters of sizeA and sizeB sites became one
+    private void countMerge(int sizeA, int sizeB) {
+        int merged = sizeA + sizeB;
+        sizeCounts.add(sizeA, -1);
+        sizeCounts.add(sizeB, -1);
+        sizeCounts.add(merged, 1);
+        clusterCount--;
+        if (merged > largestCluster) largestCluster = merged;
+    }
+
+    // Find the root of an open site, compressing the path behind it
+    private int find(int site) {
+        int root = site;
+        while (parent[root] >= 0) {
+            root = parent[root];
+        }
+        while (site != root) {
+            int next = parent[site];
+            parent[site] = root;
+            site = next;
+        }
+        return root;
+    }
+
     // Validate that indices are within bounds
     private void validateIndices(int row, int col) {
         if (row <= 0 || row > n || col <= 0 || col > n) {
@@ -104,16 +249,45 @@ public class Percolation {
     // Is the site (row, col) open?
     public boolean isOpen(int row, int col) {
         validateIndices(row, col);
-        return grid[row - 1][col - 1] == OPEN; // Adjust to 0-indexed
+        return (state[convert2DTo1D(row - 1, col - 1)] & OPEN) != 0; // Adjust to 0-indexed
     }
 
     // Is the site (row, col) full?
     public boolean isFull(int row, int col) {
         validateIndices(row, col);
-        if (!isOpen(row, col)) return false;
+        // Fullness only ever spreads through open sites, so there is no backwash
+        return isFullAt(convert2DTo1D(row - 1, col - 1));
+    }
 
-        int siteIndex = convert2DTo1D(row - 1, col - 1);
-        return ufFull.find(siteIndex) == ufFull.find(virtualTop);
+    // Is the 0-indexed site full?
+    private boolean isFullAt(int site) {
+        if (cacheFull) return (state[site] & FULL) != 0;
+        return (state[site] & OPEN) != 0 && (state[find(site)] & TOP) != 0;
+    }
+
+    // Fill bitmap with every site's fullness in one pass: bit (s % 64) of word s / 64 is
+    // set exactly when the site with row-major index s = (row - 1) * n + (col - 1) is full.
+    // The bitmap needs at least ceil(n * n / 64) words; words beyond those are untouched.
+    public void fullSites(long[] bitmap) {
+        int words = (state.length + 63) >>> 6;
+        if (bitmap == null || bitmap.length < words) {
+            throw new IllegalArgumentException("Bitmap must have at least " + words + " words");
+        }
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            int end = Math.min(state.length - base, 64);
+            long bits = 0;
+            if (cacheFull) {
+                for (int b = 0; b < end; b++) {
+                    bits |= (long) ((state[base + b] & FULL) >>> 1) << b;
+                }
+            } else {
+                for (int b = 0; b < end; b++) {
+                    if (isFullAt(base + b)) bits |= 1L << b;
+                }
+            }
+            bitmap[w] = bits;
+        }
     }
 
     // Returns the number of open sites
@@ -121,13 +295,169 @@ public class Percolation {
         return openSites;
     }
 
+    // Returns a snapshot of the grid's cluster statistics, which later opens and resets
+    // do not change. Taking it costs O(d log d) for d distinct cluster sizes, at most
+    // sqrt(2 * n * n); every query on it is O(1) apart from sizes(), which copies.
+    public Clusters clusters() {
+        if (!trackClusters) {
+            throw new IllegalStateException("Cluster statistics are only kept by new Percolation(n, true)");
+        }
+        return new Clusters(this);
+    }
+
+    // Immutable cluster statistics of a grid at one moment; a cluster is a maximal set
+    // of open sites connected through their four neighbours
+    public static final class Clusters {
+        private final int sites;
+        private final int count;
+        private final int largestSize;
+        private final int spanningMass;
+        private final SizeCounts sizeCounts;
+        private final int[] sizes;  // distinct cluster sizes, ascending
+
+        private Clusters(Percolation grid) {
+            sites = grid.state.length;
+            count = grid.clusterCount;
+            largestSize = grid.largestCluster;
+            spanningMass = grid.spanningMass;
+            sizeCounts = grid.sizeCounts.copy();
+            sizes = sizeCounts.sizes();
+            Arrays.sort(sizes);
+        }
+
+        // number of clusters
+        public int count() {
+            return count;
+        }
+
+        // number of sites in the largest cluster, or 0 if no site is open
+        public int largestSize() {
+            return largestSize;
+        }
+
+        // number of clusters of exactly the given number of sites
+        public int countOfSize(int size) {
+            if (size <= 0 || size > sites) {
+                throw new IllegalArgumentException("Cluster size must be between 1 and " + sites);
+            }
+            return sizeCounts.get(size);
+        }
+
+        // number of sites in clusters that join the top row to the bottom row; 0 exactly
+        // when the grid does not percolate
+        public int spanningMass() {
+            return spanningMass;
+        }
+
+        // the distinct cluster sizes in ascending order, in a new array; with countOfSize
+        // this is the size histogram
+        public int[] sizes() {
+            return sizes.clone();
+        }
+    }
+
+    // Number of clusters of each size, stored sparsely. Cluster sizes sum to at most
+    // n * n, so there are never more than sqrt(2 * n * n) distinct ones, however large
+    // the largest cluster. Open addressing with linear probing; size 0 marks an empty slot.
+    private static final class SizeCounts {
+        private static final int FIRST_CAPACITY = 16;
+
+        private int[] keys = new int[FIRST_CAPACITY];  // cluster sizes
+        private int[] values = new int[FIRST_CAPACITY];  // number of clusters of each
+        private int used;
+
+        // change the number of clusters of the given size by delta, dropping sizes whose
+        // count reaches 0
+        void add(int size, int delta) {
+            int mask = keys.length - 1;
+            int i = home(size, mask);
+            while (keys[i] != 0 && keys[i] != size) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = size;
+                values[i] = delta;
+                if (2 * ++used > keys.length) resize(2 * keys.length);
+            } else if ((values[i] += delta) == 0) {
+                remove(i);
+            }
+        }
+
+        // number of clusters of the given size
+        int get(int size) {
+            int mask = keys.length - 1;
+            for (int i = home(size, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == size) return values[i];
+            }
+            return 0;
+        }
+
+        // the sizes with a nonzero count, in table order
+        int[] sizes() {
+            int[] sizes = new int[used];
+            int k = 0;
+            for (int key : keys) {
+                if (key != 0) sizes[k++] = key;
+            }
+            return sizes;
+        }
+
+        SizeCounts copy() {
+            SizeCounts copy = new SizeCounts();
+            copy.keys = keys.clone();
+            copy.values = values.clone();
+            copy.used = used;
+            return copy;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            used = 0;
+        }
+
+        // Empty slot i, shifting later entries of its probe run back so that every
+        // entry stays reachable from its home slot
+        private void remove(int i) {
+            int mask = keys.length - 1;
+            int hole = i;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                // Entry j may fill the hole unless its home lies after the hole
+                if (((j - home(keys[j], mask)) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = 0;
+            used--;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            int mask = capacity - 1;
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] == 0) continue;
+                int i = home(oldKeys[k], mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+
+        private static int home(int size, int mask) {
+            int h = size * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+
     // Does the system percolate?
     public boolean percolates() {
-        // Special case for n=1
-        if (n == 1) {
-            return isOpen(1, 1);
-        }
-        return uf.find(virtualTop) == uf.find(virtualBottom);
+        return percolates;
     }
 
     // Test client
@@ -147,5 +477,31 @@ public class Percolation {
         StdOut.println("Site (2,2) is full: " + percolation.isFull(2, 2));
         StdOut.println("Site (3,3) is full: " + percolation.isFull(3, 3));
         StdOut.println("System percolates: " + percolation.percolates());
+
+
+        // Batch query: one bit per site in row-major order
+        long[] bitmap = new long[1];
+        percolation.fullSites(bitmap);
+        StdOut.println("Full sites bitmap: " + Long.toBinaryString(bitmap[0]) + " (expected 100111010)");
+
+        // Cluster statistics, kept on request: two separate corners are two clusters of
+        // one site with nothing spanning, then the same five sites as above are one
+        // spanning cluster of five
+        Percolation tracked = new Percolation(3, true);
+        tracked.open(1, 1);
+        tracked.open(3, 3);
+        Percolation.Clusters corners = tracked.clusters();
+        tracked.reset();
+        tracked.open(1, 2);
+        tracked.open(2, 1);
+        tracked.open(2, 2);
+        tracked.open(2, 3);
+        tracked.open(3, 3);
+        Percolation.Clusters clusters = tracked.clusters();
+        StdOut.println("Corners: clusters of size 1: " + corners.countOfSize(1)
+                + ", sizes: " + Arrays.toString(corners.sizes())
+                + ", spanning mass: " + corners.spanningMass() + " (snapshot, unchanged by reset)");
+        StdOut.println("Clusters: " + clusters.count() + ", largest: " + clusters.largestSize()
+                + ", spanning mass: " + clusters.spanningMass());
     }
 }
\ No newline at end of file
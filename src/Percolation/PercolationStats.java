@@ -1,52 +1,90 @@
 package Percolation;
 
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.StdRandom;
 import edu.princeton.cs.algs4.StdStats;
 
 public class PercolationStats {
-    private final double[] thresholds;
+    // How a trial picks the next site to open
+    public enum Sampling {
+        REJECTION,    // draw any site and redraw while it is already open
+        BLOCKED_ONLY  // draw only among blocked sites, one draw per opened site
+    }
+
     private final int trials;
     private final double meanVal;
     private final double stddevVal;
     private final double confidenceLo;
     private final double confidenceHi;
+    private final double drawsPerTrial;
+
+    private static final String USAGE = "Usage: java Percolation.PercolationStats "
+            + "<gridSize> <trialCount> [<seed> <threads> [REJECTION|BLOCKED_ONLY|<halfWidth>]]\n"
+            + "With a half-width, trials stop as soon as the 95% interval is that narrow, "
+            + "and trialCount is the most that will run";
 
     // perform independent trials on an n-by-n grid
     public PercolationStats(int n, int trials) {
-        if (n <= 0 || trials <= 0) {
-            throw new IllegalArgumentException("Both n and trials must be positive integers");
-        }
+        this(PercolationTrials.runSequential(n, trials));
+    }
 
-        this.trials = trials;
-        this.thresholds = new double[trials];
-
-        for (int t = 0; t < trials; t++) {
-            Percolation percolation = new Percolation(n);
-            while (!percolation.percolates()) {
-                // Select a random blocked site
-                int row, col;
-                do {
-                    row = StdRandom.uniformInt(1, n + 1);
-                    col = StdRandom.uniformInt(1, n + 1);
-                } while (percolation.isOpen(row, col));
-
-                percolation.open(row, col);
-            }
+    // perform independent trials on an n-by-n grid using the given number of worker threads;
+    // the results are identical for a given seed whatever the thread count
+    public PercolationStats(int n, int trials, long seed, int threads) {
+        this(n, trials, seed, threads, Sampling.REJECTION);
+    }
 
-            // Calculate the percolation threshold for this trial
-            // Total number of open sites divided by total number of sites
-            thresholds[t] = (double) percolation.numberOfOpenSites() / (n * n);
-        }
+    // perform independent trials on an n-by-n grid, picking sites with the given sampling mode
+    public PercolationStats(int n, int trials, long seed, int threads, Sampling sampling) {
+        this(PercolationTrials.runParallel(n, trials, seed, threads, sampling));
+    }
+
+    // perform independent site or bond percolation trials on any lattice, drawing only
+    // among closed sites or bonds; thresholds are fractions of sites or bonds open
+    public PercolationStats(Lattice lattice, LatticePercolation.Kind kind, int trials, long seed, int threads) {
+        this(PercolationTrials.runLattice(lattice, kind, trials, seed, threads));
+    }
+
+    // perform blocked-only trials on an n-by-n grid until the 95% confidence interval is at
+    // most halfWidth either side of the mean, or maxTrials trials have run; only running
+    // statistics are kept, and the result is identical for a given seed whatever the
+    // thread count
+    public static PercolationStats adaptive(int n, double halfWidth, int maxTrials, long seed, int threads) {
+        return new PercolationStats(PercolationTrials.runAdaptive(n, halfWidth, maxTrials, seed, threads));
+    }
+
+    // the same for site or bond trials on any lattice
+    public static PercolationStats adaptive(Lattice lattice, LatticePercolation.Kind kind, double halfWidth,
+                                            int maxTrials, long seed, int threads) {
+        return new PercolationStats(PercolationTrials.runAdaptive(lattice, kind, halfWidth, maxTrials, seed, threads));
+    }
 
-        // Precompute statistical values
-        this.meanVal = StdStats.mean(thresholds);
-        this.stddevVal = StdStats.stddev(thresholds);
-        double confidenceFactor = 1.96 * stddevVal / Math.sqrt(trials);
+    private PercolationStats(PercolationTrials.Summary summary) {
+        this((int) summary.thresholds.count(), summary.thresholds.mean(), summary.thresholds.stddev(), summary.draws);
+    }
+
+    private PercolationStats(PercolationTrials.Results results) {
+        this(results.thresholds(), results.draws);
+    }
+
+    private PercolationStats(double[] thresholds, long draws) {
+        this(thresholds.length, StdStats.mean(thresholds), StdStats.stddev(thresholds), draws);
+    }
+
+    private PercolationStats(int trials, double mean, double stddev, long draws) {
+        this.trials = trials;
+        this.drawsPerTrial = (double) draws / trials;
+        this.meanVal = mean;
+        this.stddevVal = stddev;
+        double confidenceFactor = PercolationTrials.halfWidth(stddev, trials);
         this.confidenceLo = meanVal - confidenceFactor;
         this.confidenceHi = meanVal + confidenceFactor;
     }
 
+    // number of trials performed
+    public int trials() {
+        return trials;
+    }
+
     // sample mean of percolation threshold
     public double mean() {
         return meanVal;
@@ -67,19 +105,47 @@ public class PercolationStats {
         return confidenceHi;
     }
 
+    // average number of random site draws made per trial
+    public double drawsPerTrial() {
+        return drawsPerTrial;
+    }
+
+    // the half-width named by a test client argument that is not a sampling mode
+    private static double parseHalfWidth(String arg) {
+        try {
+            return Double.parseDouble(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(USAGE, e);
+        }
+    }
+
     // test client (see below)
     public static void main(String[] args) {
-        if (args.length != 2) {
-            throw new IllegalArgumentException("Usage: java Percolation.PercolationStats <gridSize> <trialCount>");
+        if (args.length != 2 && args.length != 4 && args.length != 5) {
+            throw new IllegalArgumentException(USAGE);
         }
 
         int n = Integer.parseInt(args[0]);
         int trials = Integer.parseInt(args[1]);
 
-        PercolationStats stats = new PercolationStats(n, trials);
+        PercolationStats stats;
+        if (args.length >= 4) {
+            long seed = Long.parseLong(args[2]);
+            int threads = Integer.parseInt(args[3]);
+            if (args.length == 5 && !args[4].equals("REJECTION") && !args[4].equals("BLOCKED_ONLY")) {
+                stats = adaptive(n, parseHalfWidth(args[4]), trials, seed, threads);
+            } else {
+                Sampling sampling = args.length == 5 ? Sampling.valueOf(args[4]) : Sampling.REJECTION;
+                stats = new PercolationStats(n, trials, seed, threads, sampling);
+            }
+        } else {
+            stats = new PercolationStats(n, trials);
+        }
 
         StdOut.printf("mean                    = %f\n", stats.mean());
         StdOut.printf("stddev                  = %f\n", stats.stddev());
         StdOut.printf("95%% confidence interval = [%f, %f]\n", stats.confidenceLo(), stats.confidenceHi());
+        StdOut.printf("draws per trial         = %.1f\n", stats.drawsPerTrial());
+        StdOut.printf("trials                  = %d\n", stats.trials());
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package Percolation;
+
+import edu.princeton.cs.algs4.StdOut;
+import java.util.Arrays;
+
+// Newman-Ziff estimator: each trial opens the sites of an n-by-n grid in one random
+// order and records the exact number of open sites at which it first percolates.
+// Since spanning is monotone in the set of open sites, those counts give the
+// spanning probability at every occupation, not just one threshold per trial.
+public class PercolationSweep {
+    private final int sites;             // number of sites in the grid
+    private final int[] spanningCounts;  // per trial, in trial order
+    private final int[] sortedCounts;    // the same counts in ascending order
+
+    // sweep the given number of independent trials on an n-by-n grid
+    public PercolationSweep(int n, int trials, long seed, int threads) {
+        PercolationTrials.Results results = PercolationTrials.runParallel(
+                n, trials, seed, threads, PercolationStats.Sampling.BLOCKED_ONLY);
+        this.sites = results.sites;
+        this.spanningCounts = results.openCounts;
+        this.sortedCounts = spanningCounts.clone();
+        Arrays.sort(sortedCounts);
+    }
+
+    // number of trials swept
+    public int trials() {
+        return spanningCounts.length;
+    }
+
+    // number of open sites at which the given trial first percolated
+    public int spanningCount(int trial) {
+        if (trial < 0 || trial >= spanningCounts.length) {
+            throw new IllegalArgumentException("Trial index out of bounds");
+        }
+        return spanningCounts[trial];
+    }
+
+    // sample mean of the percolation threshold
+    public double mean() {
+        double sum = 0;
+        for (int count : spanningCounts) {
+            sum += count;
+        }
+        return sum / spanningCounts.length / sites;
+    }
+
+    // fraction of trials that percolate once exactly openSites sites are open
+    public double spanningProbability(int openSites) {
+        if (openSites < 0 || openSites > sites) {
+            throw new IllegalArgumentException("Open site count out of bounds");
+        }
+        return (double) countAtMost(openSites) / sortedCounts.length;
+    }
+
+    // probability that the grid percolates when each site is open independently with
+    // probability p, obtained by weighting the fixed-count probabilities binomially
+    public double spanningProbability(double p) {
+        if (!(p >= 0.0 && p <= 1.0)) {
+            throw new IllegalArgumentException("Occupation probability must be in [0, 1]");
+        }
+        if (p == 0.0) return spanningProbability(0);
+        if (p == 1.0) return spanningProbability(sites);
+
+        // The binomial weights outside mean +/- 12 standard deviations are negligible
+        double mean = sites * p;
+        double spread = 12 * Math.sqrt(sites * p * (1 - p)) + 1;
+        int lo = (int) Math.max(0, Math.floor(mean - spread));
+        int hi = (int) Math.min(sites, Math.ceil(mean + spread));
+        int mode = (int) Math.min(hi, Math.max(lo, Math.floor((sites + 1) * p)));
+
+        // Unnormalised weights built outwards from the mode with the pmf ratio
+        // B(k + 1) / B(k) = (sites - k) / (k + 1) * p / (1 - p)
+        double[] weights = new double[hi - lo + 1];
+        double odds = p / (1 - p);
+        weights[mode - lo] = 1.0;
+        for (int k = mode; k < hi; k++) {
+            weights[k + 1 - lo] = weights[k - lo] * ((double) (sites - k) / (k + 1)) * odds;
+        }
+        for (int k = mode; k > lo; k--) {
+            weights[k - 1 - lo] = weights[k - lo] * ((double) k / (sites - k + 1)) / odds;
+        }
+
+        double total = 0;
+        double spanning = 0;
+        int percolated = countAtMost(lo - 1);
+        for (int k = lo; k <= hi; k++) {
+            while (percolated < sortedCounts.length && sortedCounts[percolated] <= k) {
+                percolated++;
+            }
+            total += weights[k - lo];
+            spanning += weights[k - lo] * percolated;
+        }
+        return spanning / total / sortedCounts.length;
+    }
+
+    // spanning probability at each of the given occupation probabilities
+    public double[] spanningCurve(double[] occupations) {
+        double[] curve = new double[occupations.length];
+        for (int i = 0; i < occupations.length; i++) {
+            curve[i] = spanningProbability(occupations[i]);
+        }
+        return curve;
+    }
+
+    // number of trials that percolated with at most the given number of open sites
+    private int countAtMost(int openSites) {
+        int lo = 0;
+        int hi = sortedCounts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedCounts[mid] <= openSites) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // test client
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            throw new IllegalArgumentException(
+                    "Usage: java Percolation.PercolationSweep <gridSize> <trialCount> <seed> <threads>");
+        }
+
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        int threads = Integer.parseInt(args[3]);
+
+        PercolationSweep sweep = new PercolationSweep(n, trials, seed, threads);
+
+        StdOut.printf("mean threshold = %f\n", sweep.mean());
+        for (int i = 0; i <= 20; i++) {
+            double p = 0.5 + 0.01 * i;
+            StdOut.printf("R(%.2f) = %f\n", p, sweep.spanningProbability(p));
+        }
+    }
+}
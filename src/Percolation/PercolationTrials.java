@@ -0,0 +1,392 @@
+package Percolation;
+
+import Concurrency.ParallelTasks;
+import edu.princeton.cs.algs4.StdRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+// Monte Carlo trial engine shared by the percolation estimators
+final class PercolationTrials {
+
+    // Outcome of a batch of trials
+    static final class Results {
+        final int sites;          // number of sites (or bonds) that each trial could open
+        final int[] openCounts;   // sites (or bonds) open at the moment each trial first percolated
+        final long draws;         // random site draws made across all trials
+
+        Results(int sites, int[] openCounts, long draws) {
+            this.sites = sites;
+            this.openCounts = openCounts;
+            this.draws = draws;
+        }
+
+        // open-site fraction at which each trial percolated
+        double[] thresholds() {
+            double[] thresholds = new double[openCounts.length];
+            for (int t = 0; t < openCounts.length; t++) {
+                thresholds[t] = (double) openCounts[t] / sites;
+            }
+            return thresholds;
+        }
+    }
+
+    // Outcome of an adaptive run: streaming threshold statistics, no per-trial values
+    static final class Summary {
+        final RunningStats thresholds;  // open fraction at which each trial percolated
+        final long draws;               // random draws made across all trials
+
+        Summary(RunningStats thresholds, long draws) {
+            this.thresholds = thresholds;
+            this.draws = draws;
+        }
+    }
+
+    // Adaptive runs go in batches of whole blocks. Each block's trials run on one
+    // worker, and block statistics are merged in block order, so the result is the
+    // same whatever the thread count.
+    private static final int BLOCK = 16;          // trials per block
+    private static final int FIRST_BATCH = 128;   // trials before the first look at the interval
+    private static final int MAX_BATCH = 1 << 16; // trials per batch at most
+    static final double Z95 = 1.96;              // normal quantile of the 95% interval
+
+    // One reusable trial: opens a fresh system with the given generator until it
+    // percolates and returns how many sites (or bonds) it opened
+    private interface Trial {
+        int run(SplittableRandom random);
+    }
+
+    private PercolationTrials() {
+    }
+
+    // run trials one after another on the calling thread using the global StdRandom
+    static Results runSequential(int n, int trials) {
+        validate(n, trials);
+
+        int[] openCounts = new int[trials];
+        long draws = 0;
+        Percolation percolation = Percolation.forTrials(n);
+        for (int t = 0; t < trials; t++) {
+            if (t > 0) percolation.reset();
+            while (!percolation.percolates()) {
+                // Select a random blocked site
+                int row, col;
+                do {
+                    row = StdRandom.uniformInt(1, n + 1);
+                    col = StdRandom.uniformInt(1, n + 1);
+                    draws++;
+                } while (percolation.isOpen(row, col));
+
+                percolation.open(row, col);
+            }
+            openCounts[t] = percolation.numberOfOpenSites();
+        }
+        return new Results(n * n, openCounts, draws);
+    }
+
+    // run trials on a pool of worker threads; the result only depends on the seed
+    static Results runParallel(int n, int trials, long seed, int threads, PercolationStats.Sampling sampling) {
+        validate(n, trials);
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        if (sampling == null) {
+            throw new IllegalArgumentException("Sampling mode cannot be null");
+        }
+
+        // Every trial gets its own generator, split off in trial order on this thread,
+        // so the random stream of a trial never depends on which worker runs it
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[trials];
+        for (int t = 0; t < trials; t++) {
+            generators[t] = root.split();
+        }
+
+        int[] openCounts = new int[trials];
+        long[] draws = new long[trials];
+        int workers = Math.min(threads, trials);
+        List<Callable<Void>> chunks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int from = (int) ((long) trials * w / workers);
+            int to = (int) ((long) trials * (w + 1) / workers);
+            chunks.add(() -> {
+                // One grid per worker, reset between trials
+                Percolation percolation = Percolation.forTrials(n);
+                BlockedSites blocked = sampling == PercolationStats.Sampling.BLOCKED_ONLY
+                        ? new BlockedSites(n * n) : null;
+                for (int t = from; t < to; t++) {
+                    if (t > from) percolation.reset();
+                    if (blocked != null) {
+                        blocked.reset();
+                        draws[t] = openBlockedOnly(percolation, blocked, generators[t]);
+                    } else {
+                        draws[t] = openByRejection(percolation, n, generators[t]);
+                    }
+                    openCounts[t] = percolation.numberOfOpenSites();
+                }
+                return null;
+            });
+        }
+        ParallelTasks.invokeAll(chunks);
+
+        long totalDraws = 0;
+        for (long d : draws) {
+            totalDraws += d;
+        }
+        return new Results(n * n, openCounts, totalDraws);
+    }
+
+    // run site or bond trials on any lattice on a pool of worker threads, drawing only
+    // among closed sites or bonds; the result only depends on the seed
+    static Results runLattice(Lattice lattice, LatticePercolation.Kind kind, int trials, long seed, int threads) {
+        if (lattice == null || kind == null) {
+            throw new IllegalArgumentException("Lattice and kind cannot be null");
+        }
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trial count must be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        // Same generator layout as runParallel, so trials never depend on scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[trials];
+        for (int t = 0; t < trials; t++) {
+            generators[t] = root.split();
+        }
+
+        int elements = kind == LatticePercolation.Kind.SITE ? lattice.sites() : lattice.bondCount();
+        int[] openCounts = new int[trials];
+        int workers = Math.min(threads, trials);
+        List<Callable<Void>> chunks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int from = (int) ((long) trials * w / workers);
+            int to = (int) ((long) trials * (w + 1) / workers);
+            chunks.add(() -> {
+                LatticePercolation percolation = new LatticePercolation(lattice, kind);
+                BlockedSites closed = new BlockedSites(elements);
+                for (int t = from; t < to; t++) {
+                    if (t > from) {
+                        percolation.reset();
+                        closed.reset();
+                    }
+                    SplittableRandom random = generators[t];
+                    while (!percolation.percolates()) {
+                        percolation.openElement(closed.draw(random));
+                    }
+                    openCounts[t] = percolation.numberOfOpenElements();
+                }
+                return null;
+            });
+        }
+        ParallelTasks.invokeAll(chunks);
+
+        long totalDraws = 0;
+        for (int count : openCounts) {
+            totalDraws += count;
+        }
+        return new Results(elements, openCounts, totalDraws);
+    }
+
+    // run blocked-only trials on an n-by-n grid until the 95% interval's half-width is at
+    // most halfWidth, or maxTrials trials have run
+    static Summary runAdaptive(int n, double halfWidth, int maxTrials, long seed, int threads) {
+        validate(n, maxTrials);
+        return runAdaptive(n * n, () -> {
+            Percolation percolation = Percolation.forTrials(n);
+            BlockedSites blocked = new BlockedSites(n * n);
+            return random -> {
+                percolation.reset();
+                blocked.reset();
+                openBlockedOnly(percolation, blocked, random);
+                return percolation.numberOfOpenSites();
+            };
+        }, halfWidth, maxTrials, seed, threads);
+    }
+
+    // the same for site or bond trials on any lattice
+    static Summary runAdaptive(Lattice lattice, LatticePercolation.Kind kind, double halfWidth, int maxTrials,
+                               long seed, int threads) {
+        if (lattice == null || kind == null) {
+            throw new IllegalArgumentException("Lattice and kind cannot be null");
+        }
+        int elements = kind == LatticePercolation.Kind.SITE ? lattice.sites() : lattice.bondCount();
+        return runAdaptive(elements, () -> {
+            LatticePercolation percolation = new LatticePercolation(lattice, kind);
+            BlockedSites closed = new BlockedSites(elements);
+            return random -> {
+                percolation.reset();
+                closed.reset();
+                while (!percolation.percolates()) {
+                    percolation.openElement(closed.draw(random));
+                }
+                return percolation.numberOfOpenElements();
+            };
+        }, halfWidth, maxTrials, seed, threads);
+    }
+
+    private static Summary runAdaptive(int elements, Supplier<Trial> trialFactory, double halfWidth, int maxTrials,
+                                       long seed, int threads) {
+        if (!(halfWidth > 0) || Double.isInfinite(halfWidth)) {
+            throw new IllegalArgumentException("Target half-width must be positive and finite");
+        }
+        if (maxTrials <= 0) {
+            throw new IllegalArgumentException("Maximum trial count must be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        // One pool for every batch, so the workers are started once per run
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        try {
+            return runBatches(pool, elements, trialFactory, halfWidth, maxTrials, seed, threads);
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    private static Summary runBatches(ForkJoinPool pool, int elements, Supplier<Trial> trialFactory,
+                                      double halfWidth, int maxTrials, long seed, int threads) {
+        // One reusable trial per worker, created on first use
+        Trial[] workerTrials = new Trial[threads];
+        SplittableRandom root = new SplittableRandom(seed);
+        RunningStats total = new RunningStats();
+        long totalDraws = 0;
+        int done = 0;
+        int batch = Math.min(FIRST_BATCH, maxTrials);
+        while (batch > 0) {
+            // Every block gets its own generator, split off in block order, and its
+            // trials split theirs off it in turn
+            int blocks = (batch + BLOCK - 1) / BLOCK;
+            SplittableRandom[] blockRandom = new SplittableRandom[blocks];
+            for (int b = 0; b < blocks; b++) {
+                blockRandom[b] = root.split();
+            }
+            RunningStats[] blockStats = new RunningStats[blocks];
+            long[] blockDraws = new long[blocks];
+
+            int workers = Math.min(threads, blocks);
+            int trialsInBatch = batch;
+            List<Callable<Void>> chunks = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                chunks.add(() -> {
+                    if (workerTrials[worker] == null) workerTrials[worker] = trialFactory.get();
+                    Trial trial = workerTrials[worker];
+                    for (int b = worker; b < blocks; b += workers) {
+                        RunningStats stats = new RunningStats();
+                        int trials = Math.min(BLOCK, trialsInBatch - b * BLOCK);
+                        for (int t = 0; t < trials; t++) {
+                            int opened = trial.run(blockRandom[b].split());
+                            stats.add((double) opened / elements);
+                            blockDraws[b] += opened;
+                        }
+                        blockStats[b] = stats;
+                    }
+                    return null;
+                });
+            }
+            ParallelTasks.invokeAll(pool, chunks);
+
+            for (int b = 0; b < blocks; b++) {
+                total.merge(blockStats[b]);
+                totalDraws += blockDraws[b];
+            }
+            done += batch;
+
+            // Stop once the interval is narrow enough; otherwise aim the next batch at
+            // the number of trials the current spread says are still needed
+            if (done >= maxTrials || total.count() >= 2 && halfWidth(total.stddev(), done) <= halfWidth) {
+                break;
+            }
+            double needed = Math.pow(Z95 * total.stddev() / halfWidth, 2);
+            long remaining = (long) Math.ceil(needed) - done;
+            batch = (int) Math.min(Math.min(Math.max(remaining, BLOCK), MAX_BATCH), maxTrials - done);
+        }
+        return new Summary(total, totalDraws);
+    }
+
+    // half-width of the 95% confidence interval of a mean over the given number of trials
+    static double halfWidth(double stddev, long trials) {
+        return Z95 * stddev / Math.sqrt(trials);
+    }
+
+    // open uniformly drawn sites, redrawing open ones, until the grid percolates;
+    // returns the number of draws made
+    private static long openByRejection(Percolation percolation, int n, SplittableRandom random) {
+        long draws = 0;
+        while (!percolation.percolates()) {
+            int row, col;
+            do {
+                row = random.nextInt(1, n + 1);
+                col = random.nextInt(1, n + 1);
+                draws++;
+            } while (percolation.isOpen(row, col));
+
+            percolation.open(row, col);
+        }
+        return draws;
+    }
+
+    // open sites drawn from a pool of blocked ones until the grid percolates, so every
+    // draw opens a site; returns the number of draws made
+    private static long openBlockedOnly(Percolation percolation, BlockedSites blocked, SplittableRandom random) {
+        long draws = 0;
+        while (!percolation.percolates()) {
+            percolation.openSite(blocked.draw(random));
+            draws++;
+        }
+        return draws;
+    }
+
+    // Pool of blocked site (or bond) indices with uniform swap-remove draws, as in RandomizedQueue.dequeue
+    private static final class BlockedSites {
+        private final int[] sites;
+        private int remaining;
+
+        BlockedSites(int count) {
+            sites = new int[count];
+            for (int i = 0; i < count; i++) {
+                sites[i] = i;
+            }
+            remaining = count;
+        }
+
+        // remove and return a uniformly random blocked site
+        int draw(SplittableRandom random) {
+            // The drawn site moves past the end of the live region, which keeps the
+            // array a permutation of all sites
+            int k = random.nextInt(remaining);
+            int site = sites[k];
+            sites[k] = sites[--remaining];
+            sites[remaining] = site;
+            return site;
+        }
+
+        // restore the identity order in O(draws since the last reset), so that a trial's
+        // draws never depend on the trials that ran before it on the same worker
+        void reset() {
+            // A slot below remaining can only be out of place if the site that started
+            // there was drawn, so putting the drawn sites back home fixes all of them
+            for (int i = remaining; i < sites.length; i++) {
+                int site = sites[i];
+                if (site < remaining) sites[site] = site;
+            }
+            for (int i = remaining; i < sites.length; i++) {
+                sites[i] = i;
+            }
+            remaining = sites.length;
+        }
+    }
+
+    private static void validate(int n, int trials) {
+        if (n <= 0 || trials <= 0) {
+            throw new IllegalArgumentException("Both n and trials must be positive integers");
+        }
+    }
+}
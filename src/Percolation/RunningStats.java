@@ -0,0 +1,92 @@
+package Percolation;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.StdStats;
+
+// Streaming mean and variance of a sequence of values, in O(1) memory. Values are
+// folded in with Welford's update, which stays accurate where the textbook sum of
+// squares cancels badly, and two accumulators over disjoint values can be merged
+// exactly (Chan et al.), so threads can each keep their own and combine at the end.
+public final class RunningStats {
+    private long count;
+    private double mean;
+    private double squares;  // sum of squared deviations from the current mean
+
+    // an accumulator that has seen no values
+    public RunningStats() {
+    }
+
+    // add one value
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squares += delta * (value - mean);
+    }
+
+    // fold in every value the other accumulator has seen; other is unchanged
+    public void merge(RunningStats other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot merge null statistics");
+        }
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            squares = other.squares;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squares += other.squares + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    // number of values seen
+    public long count() {
+        return count;
+    }
+
+    // sample mean, or NaN before the first value
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    // sample variance, or NaN before the second value
+    public double variance() {
+        return count < 2 ? Double.NaN : squares / (count - 1);
+    }
+
+    // sample standard deviation, or NaN before the second value
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+
+    // unit testing: agree with StdStats, and merging in pieces with adding one by one
+    public static void main(String[] args) {
+        int n = 100_000;
+        double[] values = new double[n];
+        // A large offset is where the naive sum of squares loses its digits
+        for (int i = 0; i < n; i++) values[i] = 1e9 + StdRandom.uniformDouble();
+
+        RunningStats all = new RunningStats();
+        RunningStats merged = new RunningStats();
+        RunningStats piece = new RunningStats();
+        for (int i = 0; i < n; i++) {
+            all.add(values[i]);
+            piece.add(values[i]);
+            if (i % 997 == 996 || i == n - 1) {
+                merged.merge(piece);
+                piece = new RunningStats();
+            }
+        }
+
+        StdOut.printf("mean:   %.6f running, %.6f merged, %.6f StdStats%n",
+                all.mean(), merged.mean(), StdStats.mean(values));
+        StdOut.printf("stddev: %.9f running, %.9f merged, %.9f StdStats (uniform: %.9f)%n",
+                all.stddev(), merged.stddev(), StdStats.stddev(values), Math.sqrt(1.0 / 12));
+        StdOut.println("count: " + merged.count() + ", empty mean: " + new RunningStats().mean());
+    }
+}
@@ -0,0 +1,452 @@
+package Percolation;
+
+import HelloWorld.ConcurrentUnionFind;
+import Concurrency.ParallelTasks;
+import edu.princeton.cs.algs4.StdOut;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+// Percolation for grids too large for one site-level union-find. Opening a site only
+// sets a byte; queries relabel the grid lazily, in the Hoshen-Kopelman style:
+//  1. every tile of the grid labels its own clusters in parallel, with a union-find
+//     over just that tile, and records the labels along its edges;
+//  2. the edge labels of neighbouring tiles are merged in parallel in a
+//     ConcurrentUnionFind over the clusters, not the sites;
+//  3. clusters touching the top row mark their merged roots, and the grid percolates
+//     if any cluster touching the bottom row has a marked root;
+//  4. only when isFull() is asked, every tile is relabelled and its sites' FULL bits
+//     are set from their cluster roots.
+// The extra memory is a tile-sized scratch area per thread and four edge labels per
+// edge site, so the grid itself costs one byte per site.
+public class TiledPercolation {
+    private static final byte OPEN = 1;
+    private static final byte FULL = 2;
+
+    // Largest grid whose sites can be indexed with an int
+    private static final int MAX_N = 46340;
+    private static final int DEFAULT_TILE = 512;
+    // Lets openAll's writers claim a blocked site, so that each site is counted once
+    private static final VarHandle STATE = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int n;             // grid size
+    private final int tileSize;      // side of a tile; tiles in the last row and column may be smaller
+    private final int tilesPerSide;
+    private final int threads;
+    private final byte[] state;      // row-major site states
+    // Runs openAll and the labelling passes; created by the first parallel pass and
+    // kept for the grid's lifetime, its idle daemon workers exit on their own
+    private ForkJoinPool pool;
+
+    // Results of the last labelling, valid while labelled is set
+    private boolean labelled;
+    private boolean filled;          // FULL bits are up to date
+    private int[] clusterOffset;     // per tile: global index of its first cluster
+    private ConcurrentUnionFind clusters;
+    private boolean[] topRoot;       // per cluster root: connected to the top row
+    private boolean percolates;
+    private int openSites;           // kept by open() and openAll()
+
+    // creates an n-by-n grid, with all sites initially blocked, using one thread per processor
+    public TiledPercolation(int n) {
+        this(n, DEFAULT_TILE, Runtime.getRuntime().availableProcessors());
+    }
+
+    // creates an n-by-n grid, with all sites initially blocked, labelled in tiles of
+    // tileSize-by-tileSize sites on the given number of threads
+    public TiledPercolation(int n, int tileSize, int threads) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Grid size must be greater than 0");
+        }
+        if (n > MAX_N) {
+            throw new IllegalArgumentException("Grid size must not exceed " + MAX_N);
+        }
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        this.n = n;
+        this.tileSize = Math.min(tileSize, n);
+        this.tilesPerSide = (n + this.tileSize - 1) / this.tileSize;
+        this.threads = threads;
+        state = new byte[n * n];
+    }
+
+    // opens the site (row, col) if it is not open already
+    public void open(int row, int col) {
+        validateIndices(row, col);
+        int site = (row - 1) * n + (col - 1);
+        if ((state[site] & OPEN) == 0) {
+            state[site] = OPEN;
+            openSites++;
+            labelled = false;
+            filled = false;
+        }
+    }
+
+    // opens every site in the array, given by 0-indexed row-major index
+    // (row - 1) * n + (col - 1); repeated and already open sites are fine
+    public void openAll(int[] sites) {
+        if (sites == null) {
+            throw new IllegalArgumentException("Sites cannot be null");
+        }
+        // Check everything first so that a bad index leaves the grid unchanged
+        for (int site : sites) {
+            if (site < 0 || site >= state.length) {
+                throw new IllegalArgumentException("Site " + site + " is out of bounds");
+            }
+        }
+
+        // Blocked sites are always 0, so a writer opens one by swapping 0 for OPEN and
+        // only the writer whose swap succeeds counts it, even when chunks overlap
+        int workers = Math.max(1, Math.min(threads, sites.length / 65536));
+        int[] opened = new int[workers];
+        List<Callable<Void>> chunks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            int from = (int) ((long) sites.length * w / workers);
+            int to = (int) ((long) sites.length * (w + 1) / workers);
+            chunks.add(() -> {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    int site = sites[i];
+                    if (state[site] == 0 && STATE.compareAndSet(state, site, (byte) 0, OPEN)) count++;
+                }
+                opened[worker] = count;
+                return null;
+            });
+        }
+        ParallelTasks.invokeAll(pool(), chunks);
+        for (int count : opened) {
+            openSites += count;
+        }
+        labelled = false;
+        filled = false;
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        validateIndices(row, col);
+        return (state[(row - 1) * n + (col - 1)] & OPEN) != 0;
+    }
+
+    // is the site (row, col) full?
+    public boolean isFull(int row, int col) {
+        validateIndices(row, col);
+        if (!filled) fill();
+        return (state[(row - 1) * n + (col - 1)] & FULL) != 0;
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        if (!labelled) label();
+        return percolates;
+    }
+
+    // Steps 1 to 3: label every tile, merge the tile edges and find the top-connected roots
+    private void label() {
+        int tiles = tilesPerSide * tilesPerSide;
+        int[][] tileEdges = new int[tiles][];
+        int[] clusterCounts = new int[tiles];
+        forEachTile((tile, worker) -> {
+            clusterCounts[tile] = worker.label(tile);
+            tileEdges[tile] = worker.edges(tile);
+        });
+
+        int[] offset = new int[tiles];
+        int total = 0;
+        for (int tile = 0; tile < tiles; tile++) {
+            offset[tile] = total;
+            total += clusterCounts[tile];
+        }
+
+        // A cluster crossing a tile edge shows up on both sides with facing labels
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(total);
+        forEachTile((tile, worker) -> {
+            int tileRow = tile / tilesPerSide;
+            int tileCol = tile % tilesPerSide;
+            int[] own = tileEdges[tile];
+            if (tileCol + 1 < tilesPerSide) {
+                int right = tile + 1;
+                mergeEdge(uf, own, edgeStart(own, 3), offset[tile],
+                        tileEdges[right], edgeStart(tileEdges[right], 2), offset[right],
+                        edgeStart(own, 4) - edgeStart(own, 3));
+            }
+            if (tileRow + 1 < tilesPerSide) {
+                int below = tile + tilesPerSide;
+                mergeEdge(uf, own, edgeStart(own, 1), offset[tile],
+                        tileEdges[below], edgeStart(tileEdges[below], 0), offset[below],
+                        edgeStart(own, 2) - edgeStart(own, 1));
+            }
+        });
+
+        boolean[] top = new boolean[total];
+        for (int tile = 0; tile < tilesPerSide; tile++) {
+            int[] own = tileEdges[tile];
+            for (int i = edgeStart(own, 0), end = edgeStart(own, 1); i < end; i++) {
+                if (own[i] >= 0) top[uf.find(offset[tile] + own[i])] = true;
+            }
+        }
+        boolean spans = false;
+        for (int tile = tiles - tilesPerSide; tile < tiles && !spans; tile++) {
+            int[] own = tileEdges[tile];
+            for (int i = edgeStart(own, 1), end = edgeStart(own, 2); i < end && !spans; i++) {
+                spans = own[i] >= 0 && top[uf.find(offset[tile] + own[i])];
+            }
+        }
+
+        clusterOffset = offset;
+        clusters = uf;
+        topRoot = top;
+        percolates = spans;
+        labelled = true;
+    }
+
+    // Step 4: relabel every tile and mark the sites whose cluster is top-connected
+    private void fill() {
+        if (!labelled) label();
+        forEachTile((tile, worker) -> worker.markFull(tile));
+        filled = true;
+    }
+
+    // Where the labels of one tile edge (0 top, 1 bottom, 2 left, 3 right) begin, or
+    // with edge 4 where they end; the array holds the two rows, each as wide as the
+    // tile, then the two columns, then the tile's width
+    private static int edgeStart(int[] tileEdges, int edge) {
+        int width = tileEdges[tileEdges.length - 1];
+        int height = (tileEdges.length - 1 - 2 * width) / 2;
+        return edge < 3 ? edge * width : 2 * width + (edge - 2) * height;
+    }
+
+    // union the facing labels of two adjacent tile edges
+    private static void mergeEdge(ConcurrentUnionFind uf, int[] a, int aStart, int aOffset,
+                                  int[] b, int bStart, int bOffset, int length) {
+        int previousA = -1;
+        int previousB = -1;
+        for (int i = 0; i < length; i++) {
+            int labelA = a[aStart + i];
+            int labelB = b[bStart + i];
+            // Along an edge, runs of open sites mostly repeat the same pair of clusters
+            if (labelA >= 0 && labelB >= 0 && (labelA != previousA || labelB != previousB)) {
+                uf.union(aOffset + labelA, bOffset + labelB);
+            }
+            previousA = labelA;
+            previousB = labelB;
+        }
+    }
+
+    // the grid's pool, or null while a single thread does all the work
+    private ForkJoinPool pool() {
+        if (pool == null && threads > 1) {
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+
+    private interface TileTask {
+        void run(int tile, Worker worker);
+    }
+
+    // run the task for every tile, splitting the tiles into contiguous chunks, one
+    // per thread, each with its own scratch space
+    private void forEachTile(TileTask task) {
+        int tiles = tilesPerSide * tilesPerSide;
+        int workers = Math.min(threads, tiles);
+        List<Callable<Void>> chunks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int from = (int) ((long) tiles * w / workers);
+            int to = (int) ((long) tiles * (w + 1) / workers);
+            chunks.add(() -> {
+                Worker worker = new Worker();
+                for (int tile = from; tile < to; tile++) {
+                    task.run(tile, worker);
+                }
+                return null;
+            });
+        }
+        ParallelTasks.invokeAll(pool(), chunks);
+    }
+
+    // Scratch space for labelling one tile at a time
+    private final class Worker {
+        // Union-find over the tile's sites in local row-major order; then, once
+        // labelled, the compact cluster label of each open site and -1 for blocked ones;
+        // allocated by the first label() since the merge step never needs it
+        private int[] labels;
+        private int rowFrom, colFrom, height, width;
+
+        // label the clusters of the tile with 0 .. count - 1 and return count
+        int label(int tile) {
+            rowFrom = tile / tilesPerSide * tileSize;
+            colFrom = tile % tilesPerSide * tileSize;
+            height = Math.min(tileSize, n - rowFrom);
+            width = Math.min(tileSize, n - colFrom);
+            if (labels == null) labels = new int[tileSize * tileSize];
+
+            // First pass: link every open site to its open neighbours above and to the
+            // left; a root r stores -(r + 2) so that -1 can mean blocked
+            for (int r = 0; r < height; r++) {
+                int site = (rowFrom + r) * n + colFrom;
+                for (int c = 0; c < width; c++, site++) {
+                    int local = r * width + c;
+                    if ((state[site] & OPEN) == 0) {
+                        labels[local] = -1;
+                        continue;
+                    }
+                    labels[local] = -(local + 2);
+                    if (r > 0 && labels[local - width] != -1) link(local, local - width);
+                    if (c > 0 && labels[local - 1] != -1) link(local, local - 1);
+                }
+            }
+
+            // Second pass: every link points at a smaller index, so in row-major order a
+            // site's parent already holds its cluster's final label
+            int count = 0;
+            for (int local = 0, area = height * width; local < area; local++) {
+                int label = labels[local];
+                if (label < -1) {
+                    labels[local] = count++;
+                } else if (label >= 0) {
+                    labels[local] = labels[label];
+                }
+            }
+            return count;
+        }
+
+        // link the cluster of local site a with that of site b, which is not a root's label
+        private void link(int a, int b) {
+            int rootA = root(a);
+            int rootB = root(b);
+            if (rootA == rootB) return;
+            // The smaller index stays the root, so links always point backwards
+            if (rootA < rootB) {
+                labels[rootB] = rootA;
+            } else {
+                labels[rootA] = rootB;
+            }
+        }
+
+        // root of a local site during the first pass, halving the path on the way
+        // (a grandparent is smaller still, so links keep pointing backwards)
+        private int root(int local) {
+            while (labels[local] >= 0) {
+                int up = labels[local];
+                if (labels[up] >= 0) labels[local] = labels[up];
+                local = up;
+            }
+            return local;
+        }
+
+        // the labels along the tile's edges: top row, bottom row, left column, right
+        // column, followed by the width of the tile
+        int[] edges(int tile) {
+            int[] edges = new int[2 * width + 2 * height + 1];
+            int bottom = (height - 1) * width;
+            for (int c = 0; c < width; c++) {
+                edges[c] = labels[c];
+                edges[width + c] = labels[bottom + c];
+            }
+            for (int r = 0; r < height; r++) {
+                edges[2 * width + r] = labels[r * width];
+                edges[2 * width + height + r] = labels[r * width + width - 1];
+            }
+            edges[edges.length - 1] = width;
+            return edges;
+        }
+
+        // relabel the tile and set or clear the FULL bit of each of its open sites
+        void markFull(int tile) {
+            int count = label(tile);
+            boolean[] full = new boolean[count];
+            int offset = clusterOffset[tile];
+            for (int cluster = 0; cluster < count; cluster++) {
+                full[cluster] = topRoot[clusters.find(offset + cluster)];
+            }
+            for (int r = 0; r < height; r++) {
+                int site = (rowFrom + r) * n + colFrom;
+                for (int c = 0; c < width; c++, site++) {
+                    int label = labels[r * width + c];
+                    if (label >= 0) state[site] = full[label] ? OPEN | FULL : OPEN;
+                }
+            }
+        }
+    }
+
+    // Validate that indices are within bounds
+    private void validateIndices(int row, int col) {
+        if (row <= 0 || row > n || col <= 0 || col > n) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+    }
+
+    // test client: agree with Percolation on random grids, then time a large one
+    public static void main(String[] args) {
+        int largeN = args.length > 0 ? Integer.parseInt(args[0]) : 8000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        SplittableRandom random = new SplittableRandom(42);
+
+        // 1. Small grids and tiles, including tiles that do not divide the grid
+        boolean agree = true;
+        for (int test = 0; test < 200 && agree; test++) {
+            int n = random.nextInt(1, 40);
+            int tile = random.nextInt(1, n + 1);
+            TiledPercolation tiled = new TiledPercolation(n, tile, 1 + test % 4);
+            Percolation reference = new Percolation(n);
+            double p = random.nextDouble(0.4, 0.8);
+            int[] batch = new int[n * n];
+            int count = 0;
+            for (int site = 0; site < n * n; site++) {
+                if (random.nextDouble() < p) batch[count++] = site;
+            }
+            // Open the first sites one by one, then all of them in a batch that repeats those
+            int single = count / 4;
+            for (int i = 0; i < single; i++) {
+                tiled.open(batch[i] / n + 1, batch[i] % n + 1);
+            }
+            tiled.openAll(java.util.Arrays.copyOf(batch, count));
+            for (int i = 0; i < count; i++) {
+                reference.open(batch[i] / n + 1, batch[i] % n + 1);
+            }
+            agree = tiled.percolates() == reference.percolates()
+                    && tiled.numberOfOpenSites() == reference.numberOfOpenSites();
+            for (int row = 1; row <= n && agree; row++) {
+                for (int col = 1; col <= n && agree; col++) {
+                    agree = tiled.isFull(row, col) == reference.isFull(row, col);
+                }
+            }
+        }
+        StdOut.println("1. agrees with Percolation on 200 random grids: " + agree);
+
+        // 2. A large grid at the critical density
+        int[] batch = new int[largeN * largeN];
+        int count = 0;
+        for (int site = 0; site < batch.length; site++) {
+            if (random.nextDouble() < 0.5927) batch[count++] = site;
+        }
+        batch = java.util.Arrays.copyOf(batch, count);
+        StdOut.printf("2. %d x %d grid, %d open sites%n", largeN, largeN, count);
+        for (int t = 1; t <= threads; t++) {
+            TiledPercolation tiled = new TiledPercolation(largeN, DEFAULT_TILE, t);
+            long start = System.nanoTime();
+            tiled.openAll(batch);
+            boolean percolates = tiled.percolates();
+            long labelledAt = System.nanoTime();
+            tiled.isFull(1, 1);
+            long end = System.nanoTime();
+            StdOut.printf("   %2d threads: open + percolates %7.1f ms, isFull fill %7.1f ms, percolates = %b, open sites counted: %b%n",
+                    t, (labelledAt - start) / 1e6, (end - labelledAt) / 1e6, percolates, tiled.numberOfOpenSites() == count);
+        }
+    }
+}